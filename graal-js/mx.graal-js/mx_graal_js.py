@@ -56,6 +56,9 @@ def _graal_js_gate_runner(args, tasks):
         'directbytebuffer': ['-Dtruffle.js.DirectByteBuffer=true', 'gate'],
         'cloneuninitialized': ['-Dtruffle.js.TestCloneUninitialized=true', 'gate'],
         'lazytranslation': ['-Dtruffle.js.LazyTranslation=true', 'gate'],
+        'slicedstrings': ['-Dtruffle.js.SlicedStrings=true', 'gate'],
+        'parallelmoduleparsing': ['-Dtruffle.js.ParallelModuleParsing=true', 'gate'],
+        'skiptablestringsearch': ['-Dtruffle.js.SkipTableStringSearch=true', 'gate'],
         'shareengine': ['gate', 'shareengine'],
     }
 
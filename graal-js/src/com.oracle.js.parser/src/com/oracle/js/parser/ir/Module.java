@@ -41,6 +41,7 @@
 
 package com.oracle.js.parser.ir;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -213,6 +214,17 @@ public final class Module {
         return exports;
     }
 
+    /**
+     * Returns a copy of this module without the import and export declaration nodes, so that a
+     * module record does not keep the parser AST reachable.
+     */
+    public Module withoutNodes() {
+        if (imports.isEmpty() && exports.isEmpty()) {
+            return this;
+        }
+        return new Module(requestedModules, importEntries, localExportEntries, indirectExportEntries, starExportEntries, Collections.emptyList(), Collections.emptyList());
+    }
+
     @Override
     public String toString() {
         return "Module [requestedModules=" + requestedModules + ", importEntries=" + importEntries + ", localExportEntries=" + localExportEntries + ", indirectExportEntries=" +
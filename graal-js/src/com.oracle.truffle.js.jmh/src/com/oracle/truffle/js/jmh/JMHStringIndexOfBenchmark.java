@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Searches for a long delimiter in multi-KB chunks, once with {@code String.indexOf} and once with
+ * the skip table of {@code truffle.js.SkipTableStringSearch}.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class JMHStringIndexOfBenchmark {
+    @State(Scope.Thread)
+    public static class MyState {
+        @Param({"32", "64", "256"}) int delimiterLength;
+        @Param({"1024", "8192", "65536"}) int chunkLength;
+
+        Context context;
+        Value countDelimiters;
+        Value chunk;
+        Value delimiter;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            context = Context.create("js");
+            countDelimiters = context.eval("js", "(function(chunk, delimiter) {" +
+                            "  var count = 0;" +
+                            "  for (var pos = chunk.indexOf(delimiter); pos !== -1; pos = chunk.indexOf(delimiter, pos + delimiter.length)) {" +
+                            "    count++;" +
+                            "  }" +
+                            "  return count;" +
+                            "})");
+            // the delimiter shares its characters with the chunk, except for its last one
+            delimiter = context.eval("js", "'-'.repeat(" + (delimiterLength - 1) + ") + '>'");
+            chunk = context.eval("js", "var part = 'abcdefghij-'.repeat(" + (chunkLength / 11) + ");" +
+                            "(part + '-'.repeat(" + (delimiterLength - 1) + ") + '>').repeat(4)");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @Fork(2)
+    public int testIndexOf(MyState state) {
+        return state.countDelimiters.execute(state.chunk, state.delimiter).asInt();
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "-Dtruffle.js.SkipTableStringSearch=true")
+    public int testIndexOfSkipTable(MyState state) {
+        return state.countDelimiters.execute(state.chunk, state.delimiter).asInt();
+    }
+
+}
@@ -55,8 +55,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
+import com.oracle.js.parser.Lexer.RegexToken;
 import com.oracle.js.parser.ir.Expression;
 import com.oracle.js.parser.ir.Module;
 import com.oracle.js.parser.ir.Module.ExportEntry;
@@ -328,6 +332,41 @@ public final class GraalJSEvaluator implements JSParser {
         }
     }
 
+    @TruffleBoundary
+    @Override
+    public Supplier<JSModuleRecord> parseModuleInBackground(JSContext context, Source source, JSModuleLoader moduleLoader) {
+        JSParserOptions parserOptions = context.getParserOptions().putStrict(true);
+        // regular expression literals are validated on the calling thread
+        List<RegexToken> regexLiterals = new ArrayList<>();
+        Future<com.oracle.js.parser.ir.FunctionNode> parsing = ForkJoinPool.commonPool().submit(
+                        () -> GraalJSParserHelper.parseModuleDeferRegExpValidation(context, source, parserOptions, regexLiterals));
+        return () -> {
+            com.oracle.js.parser.ir.FunctionNode parsed = joinParsedModule(parsing);
+            if (parsed == null || !GraalJSParserHelper.validateRegExpLiterals(context, parserOptions, regexLiterals)) {
+                // parse again on this thread to report the (first) syntax error
+                return parseModule(context, source, moduleLoader);
+            }
+            try {
+                return JavaScriptTranslator.translateModule(NodeFactory.getInstance(context), context, source, moduleLoader, parsed);
+            } catch (com.oracle.js.parser.ParserException e) {
+                throw Errors.createSyntaxError(e.getMessage(), e, null);
+            }
+        };
+    }
+
+    @TruffleBoundary
+    private static com.oracle.js.parser.ir.FunctionNode joinParsedModule(Future<com.oracle.js.parser.ir.FunctionNode> parsing) {
+        try {
+            return parsing.get();
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            parsing.cancel(false);
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
     @TruffleBoundary
     @Override
     public JSModuleRecord hostResolveImportedModule(JSContext context, ScriptOrModule referrer, String specifier) {
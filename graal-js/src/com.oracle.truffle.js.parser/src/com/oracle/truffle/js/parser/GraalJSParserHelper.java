@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.parser;
 
 import java.io.PrintWriter;
+import java.util.List;
 import java.util.function.Function;
 
 import com.oracle.js.parser.ErrorManager;
@@ -82,15 +83,45 @@ public final class GraalJSParserHelper {
 
     public static FunctionNode parseScript(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions, boolean eval, boolean evalInFunction,
                     Scope evalScope) {
-        return parseSource(context, truffleSource, parserOptions, false, eval, evalInFunction, evalScope);
+        return parseSource(context, truffleSource, parserOptions, false, eval, evalInFunction, evalScope, null);
     }
 
     public static FunctionNode parseModule(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions) {
-        return parseSource(context, truffleSource, parserOptions, true, false, false, null);
+        return parseSource(context, truffleSource, parserOptions, true, false, false, null, null);
+    }
+
+    /**
+     * Parses a module like {@link #parseModule}, but only collects its regular expression literals
+     * instead of validating them, since validation may need to enter the context. The collected
+     * literals have to be checked with {@link #validateRegExpLiterals} before the module is used.
+     * Can be called from any thread.
+     */
+    public static FunctionNode parseModuleDeferRegExpValidation(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions,
+                    List<RegexToken> regexLiterals) {
+        return parseSource(context, truffleSource, parserOptions, true, false, false, null, regexLiterals);
+    }
+
+    /**
+     * Validates regular expression literals collected by {@link #parseModuleDeferRegExpValidation}.
+     *
+     * @return true if all literals are valid
+     */
+    public static boolean validateRegExpLiterals(JSContext context, JSParserOptions parserOptions, List<RegexToken> regexLiterals) {
+        CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
+        if (context.getContextOptions().isValidateRegExpLiterals()) {
+            for (RegexToken regex : regexLiterals) {
+                try {
+                    RegexCompilerInterface.validate(context, regex.getExpression(), regex.getOptions(), parserOptions.getEcmaScriptVersion());
+                } catch (JSException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     private static FunctionNode parseSource(JSContext context, com.oracle.truffle.api.source.Source truffleSource, JSParserOptions parserOptions,
-                    boolean parseModule, boolean eval, boolean evalInFunction, Scope evalScope) {
+                    boolean parseModule, boolean eval, boolean evalInFunction, Scope evalScope, List<RegexToken> deferredRegexLiterals) {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
         CharSequence code = truffleSource.getCharacters();
         com.oracle.js.parser.Source source = com.oracle.js.parser.Source.sourceFor(truffleSource.getName(), code, eval);
@@ -104,7 +135,7 @@ public final class GraalJSParserHelper {
         }
         errors.setLimit(0);
 
-        Parser parser = createParser(context, env, source, errors, parserOptions);
+        Parser parser = createParser(context, env, source, errors, parserOptions, deferredRegexLiterals);
 
         FunctionNode parsed;
         if (parseModule) {
@@ -140,13 +171,20 @@ public final class GraalJSParserHelper {
     }
 
     private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions) {
+        return createParser(context, env, source, errors, parserOptions, null);
+    }
+
+    private static Parser createParser(JSContext context, ScriptEnvironment env, com.oracle.js.parser.Source source, ErrorManager errors, JSParserOptions parserOptions,
+                    List<RegexToken> deferredRegexLiterals) {
         return new Parser(env, source, errors) {
             @Override
             protected void validateLexerToken(LexerToken lexerToken) {
                 if (lexerToken instanceof RegexToken) {
                     final RegexToken regex = (RegexToken) lexerToken;
-                    // validate regular expression
-                    if (context.getContextOptions().isValidateRegExpLiterals()) {
+                    if (deferredRegexLiterals != null) {
+                        deferredRegexLiterals.add(regex);
+                    } else if (context.getContextOptions().isValidateRegExpLiterals()) {
+                        // validate regular expression
                         try {
                             RegexCompilerInterface.validate(context, regex.getExpression(), regex.getOptions(), parserOptions.getEcmaScriptVersion());
                         } catch (JSException e) {
@@ -352,7 +352,7 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
             functionData = factory.createFunctionData(context, functionNode.getLength(), functionName, isConstructor, isDerivedConstructor, isStrict, isBuiltin,
                             needsParentFrame, isGeneratorFunction, isAsyncFunction, isClassConstructor, strictFunctionProperties, needsNewTarget);
 
-            LexicalContext savedLC = lc.copy();
+            LexicalContext savedLC = saveLexicalContextForLazyTranslation(functionNode);
             Environment parentEnv = environment;
             functionData.setLazyInit(fd -> {
                 GraalJSTranslator translator = newTranslator(parentEnv, savedLC);
@@ -923,6 +923,27 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
         return Collections.emptyList();
     }
 
+    /**
+     * Saves the parts of the lexical context needed to translate a function on demand. Only the
+     * innermost class and the function itself are kept, so that a function that is never called
+     * does not keep the parser IR of the enclosing functions and of the script reachable. Nested
+     * functions of modules keep the whole context, since {@link LexicalContext#inModule()} looks for
+     * the module function.
+     */
+    private LexicalContext saveLexicalContextForLazyTranslation(FunctionNode functionNode) {
+        assert lc.getCurrentFunction() == functionNode;
+        if (lc.inModule()) {
+            return lc.copy();
+        }
+        LexicalContext savedLC = new LexicalContext();
+        ClassNode classNode = lc.getCurrentClass();
+        if (classNode != null) {
+            savedLC.push(classNode);
+        }
+        savedLC.push(functionNode);
+        return savedLC;
+    }
+
     private static void functionNeedsParentFramePass(FunctionNode rootFunctionNode) {
         if (!JSTruffleOptions.LazyTranslation) {
             return; // nothing to do
@@ -2294,11 +2315,57 @@ abstract class GraalJSTranslator extends com.oracle.js.parser.ir.visitor.Transla
     }
 
     private JavaScriptNode enterBinaryExpressionNode(BinaryNode binaryNode) {
+        if (binaryNode.isTokenType(TokenType.ADD)) {
+            List<Expression> templateParts = getTemplateLiteralParts(binaryNode);
+            if (templateParts != null) {
+                JavaScriptNode[] parts = javaScriptNodeArray(templateParts.size());
+                for (int i = 0; i < parts.length; i++) {
+                    parts[i] = transform(templateParts.get(i));
+                }
+                return tagExpression(factory.createTemplateConcat(context, parts), binaryNode);
+            }
+        }
         JavaScriptNode lhs = transform(binaryNode.getLhs());
         JavaScriptNode rhs = transform(binaryNode.getRhs());
         return tagExpression(factory.createBinary(context, tokenTypeToBinaryOperation(binaryNode.tokenType()), lhs, rhs), binaryNode);
     }
 
+    /**
+     * Returns the non-empty string parts of an untagged template literal with substitutions (as
+     * parsed into a chain of additions of string literals and ToString conversions), or null if
+     * the node is not such a chain or has less than two non-empty parts.
+     */
+    private static List<Expression> getTemplateLiteralParts(BinaryNode binaryNode) {
+        List<Expression> parts = new ArrayList<>();
+        boolean hasSubstitution = false;
+        Expression current = binaryNode;
+        while (current instanceof BinaryNode && current.isTokenType(TokenType.ADD)) {
+            Expression rhs = ((BinaryNode) current).getRhs();
+            if (isToStringRuntimeNode(rhs)) {
+                hasSubstitution = true;
+            } else if (!isStringLiteral(rhs)) {
+                return null;
+            }
+            parts.add(rhs);
+            current = ((BinaryNode) current).getLhs();
+        }
+        if (!hasSubstitution || !isStringLiteral(current)) {
+            return null;
+        }
+        parts.add(current);
+        Collections.reverse(parts);
+        parts.removeIf(part -> isStringLiteral(part) && ((LiteralNode<?>) part).getString().isEmpty());
+        return parts.size() >= 2 ? parts : null;
+    }
+
+    private static boolean isToStringRuntimeNode(Expression expression) {
+        return expression instanceof RuntimeNode && ((RuntimeNode) expression).getRequest() == RuntimeNode.Request.TO_STRING;
+    }
+
+    private static boolean isStringLiteral(Expression expression) {
+        return expression instanceof LiteralNode && ((LiteralNode<?>) expression).isString();
+    }
+
     private JavaScriptNode enterBinaryTransformNode(BinaryNode binaryNode) {
         JavaScriptNode assignedValue = transform(binaryNode.getAssignmentSource());
         return tagExpression(transformCompoundAssignment(binaryNode, binaryNode.getAssignmentDest(), assignedValue, tokenTypeToBinaryOperation(binaryNode.tokenType()), false, false), binaryNode);
@@ -42,7 +42,9 @@ package com.oracle.truffle.js.scriptengine.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeFalse;
@@ -53,6 +55,7 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
 
 import java.util.function.Predicate;
 
@@ -416,4 +419,90 @@ public class TestBindings {
         // should not throw
         engine.eval("JavaImporter");
     }
+
+    private static ScriptContext createScriptContext(Bindings engineBindings) {
+        ScriptContext scriptContext = new SimpleScriptContext();
+        scriptContext.setBindings(engineBindings, ScriptContext.ENGINE_SCOPE);
+        return scriptContext;
+    }
+
+    @Test
+    public void testContextPooling() throws Exception {
+        GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 1);
+        Bindings bindings = engine.createBindings();
+        ScriptContext scriptContext = createScriptContext(bindings);
+        Context pooledContext = engine.getPolyglotContext(scriptContext);
+        engine.eval("leaked = 42;", scriptContext);
+        ((AutoCloseable) bindings).close();
+
+        // the context is reused with a clean global scope
+        bindings = engine.createBindings();
+        scriptContext = createScriptContext(bindings);
+        assertSame(pooledContext, engine.getPolyglotContext(scriptContext));
+        assertEquals("undefined", engine.eval("typeof leaked;", scriptContext));
+        engine.eval("var declared = 42;", scriptContext);
+        ((AutoCloseable) bindings).close();
+
+        // var declarations cannot be removed, but they are reset
+        bindings = engine.createBindings();
+        scriptContext = createScriptContext(bindings);
+        assertSame(pooledContext, engine.getPolyglotContext(scriptContext));
+        assertEquals("undefined", engine.eval("typeof declared;", scriptContext));
+        engine.eval("let lexical = 42;", scriptContext);
+        ((AutoCloseable) bindings).close();
+
+        // lexical declarations cannot be removed, so the context is not reused
+        bindings = engine.createBindings();
+        scriptContext = createScriptContext(bindings);
+        assertNotSame(pooledContext, engine.getPolyglotContext(scriptContext));
+        assertEquals("undefined", engine.eval("typeof lexical;", scriptContext));
+        engine.close();
+    }
+
+    @Test
+    public void testContextPoolingDeclarations() throws Exception {
+        GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 1);
+        Context pooledContext = null;
+        for (int i = 0; i < 3; i++) {
+            Bindings bindings = engine.createBindings();
+            ScriptContext scriptContext = createScriptContext(bindings);
+            if (pooledContext == null) {
+                pooledContext = engine.getPolyglotContext(scriptContext);
+            } else {
+                assertSame(pooledContext, engine.getPolyglotContext(scriptContext));
+            }
+            // the same declarations in every request
+            assertEquals("undefined,function,3", engine.eval("var before = [typeof x, typeof f];\n" //
+                            + "var x = 1;\n" //
+                            + "function f() { return 2; }\n" //
+                            + "before.concat(x + f()).join();", scriptContext));
+            ((AutoCloseable) bindings).close();
+        }
+        engine.close();
+    }
+
+    @Test
+    public void testContextPoolingBuiltins() throws Exception {
+        GraalJSScriptEngine engine = GraalJSScriptEngine.create(null, null, 1);
+        Bindings bindings = engine.createBindings();
+        ScriptContext scriptContext = createScriptContext(bindings);
+        Context pooledContext = engine.getPolyglotContext(scriptContext);
+        engine.eval("JSON = 1; print = 2; delete Array; undefined", scriptContext);
+        ((AutoCloseable) bindings).close();
+
+        // reassigned and deleted globals are restored
+        bindings = engine.createBindings();
+        scriptContext = createScriptContext(bindings);
+        assertSame(pooledContext, engine.getPolyglotContext(scriptContext));
+        assertEquals("function,function,function", engine.eval("[typeof JSON.stringify, typeof print, typeof Array].join();", scriptContext));
+        engine.eval("Array.prototype.push = function() { return 0; }; undefined", scriptContext);
+        ((AutoCloseable) bindings).close();
+
+        // modified built-ins cannot be restored, so the context is not reused
+        bindings = engine.createBindings();
+        scriptContext = createScriptContext(bindings);
+        assertNotSame(pooledContext, engine.getPolyglotContext(scriptContext));
+        assertEquals(1, engine.eval("[].push(42);", scriptContext));
+        engine.close();
+    }
 }
@@ -41,18 +41,23 @@
 package com.oracle.truffle.js.scriptengine.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
 
 import javax.script.Bindings;
 import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
 
 import org.graalvm.polyglot.Source;
 import org.junit.Ignore;
@@ -85,6 +90,60 @@ public class TestEngine {
         assertEquals(true, ((Compilable) getEngine()).compile("true").eval());
     }
 
+    @Test
+    public void printLargeOutput() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        StringWriter writer = new StringWriter();
+        engine.getContext().setWriter(writer);
+        // larger than the buffers of the output stream
+        engine.eval("print('x'.repeat(20000) + '\\u00e4')");
+        String expected = new String(new char[20000]).replace('\0', 'x') + (Charset.defaultCharset().newEncoder().canEncode('\u00e4') ? "\u00e4" : "?");
+        assertEquals(expected, writer.toString().trim());
+    }
+
+    @Test(expected = ScriptException.class)
+    public void compileSyntaxError() throws ScriptException {
+        // reported by compile, not by the first eval
+        ((Compilable) getEngine()).compile("var = ;");
+    }
+
+    @Test
+    public void compileAndEvalInNewContexts() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        CompiledScript script = ((Compilable) engine).compile("var counter = (typeof counter === 'number') ? counter + 1 : 1; counter");
+        assertEquals(1, script.eval());
+        assertEquals(2, script.eval());
+        assertEquals(1, script.eval(engine.createBindings()));
+    }
+
+    @Test
+    public void compileAndEvalAfterClosingBindings() throws Exception {
+        ScriptEngine engine = getEngine();
+        CompiledScript script = ((Compilable) engine).compile("var counter = (typeof counter === 'number') ? counter + 1 : 1; counter");
+        Bindings bindings = engine.createBindings();
+        assertEquals(1, script.eval(bindings));
+        assertEquals(2, script.eval(bindings));
+        ((AutoCloseable) bindings).close();
+        assertEquals(1, script.eval(engine.createBindings()));
+        assertEquals(1, script.eval());
+    }
+
+    @Test
+    public void compileAndEvalInSimpleBindings() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        CompiledScript script = ((Compilable) engine).compile("var counter = (typeof counter === 'number') ? counter + step : step; counter");
+        Bindings bindings = new SimpleBindings();
+        bindings.put("step", 1);
+        assertEquals(1, script.eval(bindings));
+        Object wrapper = bindings.get("polyglot.bindings");
+        assertTrue(wrapper instanceof Bindings);
+        // later changes of the bindings are visible to the script
+        bindings.put("step", 2);
+        assertEquals(3, script.eval(bindings));
+        // the wrapper of the bindings is reused
+        assertSame(wrapper, bindings.get("polyglot.bindings"));
+    }
+
     @Test
     public void declareVar() throws ScriptException {
         // @formatter:off
@@ -44,13 +44,18 @@ import java.util.AbstractMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.script.Bindings;
+import javax.script.CompiledScript;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.TypeLiteral;
 import org.graalvm.polyglot.Value;
 
+import com.oracle.truffle.js.scriptengine.GraalJSContextPool.PooledContext;
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine.ContextStreams;
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine.MagicBindingsOptionSetter;
 
 final class GraalJSBindings extends AbstractMap<String, Object> implements Bindings, AutoCloseable {
@@ -62,10 +67,17 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Map<String, Object> global;
     private Value deleteProperty;
     private Value clear;
+    private Value importGlobalBindings;
+    private ContextStreams streams;
     private Context.Builder contextBuilder;
+    private GraalJSContextPool contextPool;
+    private PooledContext pooledContext;
+    /** Parsed compiled scripts of the context, dropped when the bindings are closed. */
+    private Map<CompiledScript, Value> parsedScripts;
 
-    GraalJSBindings(Context.Builder contextBuilder) {
+    GraalJSBindings(Context.Builder contextBuilder, GraalJSContextPool contextPool) {
         this.contextBuilder = contextBuilder;
+        this.contextPool = contextPool;
     }
 
     GraalJSBindings(Context context) {
@@ -80,7 +92,14 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        if (contextPool != null) {
+            pooledContext = contextPool.acquire();
+            context = pooledContext.getContext();
+            streams = pooledContext.getStreams();
+        } else {
+            streams = new ContextStreams();
+            context = GraalJSScriptEngine.createDefaultContext(contextBuilder, streams);
+        }
         initGlobal();
     }
 
@@ -95,6 +114,22 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         return this.deleteProperty;
     }
 
+    Value importGlobalBindingsFunction() {
+        if (this.importGlobalBindings == null) {
+            this.importGlobalBindings = GraalJSScriptEngine.getImportGlobalBindingsFunction(getContext());
+        }
+        return this.importGlobalBindings;
+    }
+
+    ContextStreams getStreams() {
+        requireContext();
+        if (streams == null) {
+            // context provided by the user
+            streams = ContextStreams.lookup(context);
+        }
+        return streams;
+    }
+
     private Value clearFunction() {
         if (this.clear == null) {
             this.clear = GraalJSScriptEngine.evalInternal(context, "(function(obj) {for (var prop in obj) {delete obj[prop]}})");
@@ -112,6 +147,8 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
                     contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    // pooled contexts do not have this option
+                    contextPool = null;
                     return true;
                 }
             } else {
@@ -156,6 +193,26 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         return context;
     }
 
+    /**
+     * Returns the executable parsed script of a compiled script in this context. The cache is held
+     * by the bindings and not by the compiled script, so that compiled scripts do not keep contexts
+     * alive.
+     */
+    Value getParsedScript(CompiledScript compiledScript, Source source) {
+        requireContext();
+        synchronized (this) {
+            if (parsedScripts == null) {
+                parsedScripts = new WeakHashMap<>();
+            }
+            Value parsed = parsedScripts.get(compiledScript);
+            if (parsed == null) {
+                parsed = context.parse(source);
+                parsedScripts.put(compiledScript, parsed);
+            }
+            return parsed;
+        }
+    }
+
     @Override
     public Set<Entry<String, Object>> entrySet() {
         requireContext();
@@ -164,7 +221,20 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
 
     @Override
     public void close() {
-        if (context != null) {
+        synchronized (this) {
+            parsedScripts = null;
+        }
+        if (pooledContext != null) {
+            PooledContext released = pooledContext;
+            pooledContext = null;
+            context = null;
+            global = null;
+            deleteProperty = null;
+            clear = null;
+            importGlobalBindings = null;
+            streams = null;
+            contextPool.release(released);
+        } else if (context != null) {
             context.close();
         }
     }
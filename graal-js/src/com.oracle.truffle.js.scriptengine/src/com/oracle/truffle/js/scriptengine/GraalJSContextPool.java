@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine.ContextStreams;
+
+/**
+ * Pool of initialized polyglot contexts that are reused by the bindings created with
+ * {@link GraalJSScriptEngine#createBindings()}. The pool is filled when it is created. A context is
+ * returned to the pool when its bindings are closed.
+ *
+ * Before a context is reused, its global object is restored to its initial state: global
+ * properties added since the context was created are removed and reassigned or deleted initial
+ * globals (e.g., {@code JSON} or {@code print}) get their initial value back. Top-level
+ * {@code var} and {@code function} declarations cannot be removed, so they are reset to
+ * {@code undefined}. Contexts that cannot be restored this way are closed instead of being reused:
+ * contexts with top-level {@code let}, {@code const} or {@code class} declarations, and contexts in
+ * which a built-in constructor, namespace object (e.g., {@code Math}) or prototype reachable from
+ * them was modified.
+ */
+final class GraalJSContextPool implements AutoCloseable {
+
+    /**
+     * Takes a snapshot of the global object and of the built-ins reachable from it, and returns a
+     * function that restores the global object. The function receives the names of new global
+     * bindings that are not properties of the global object (i.e., lexical declarations) and
+     * returns false if the context cannot be restored. The intrinsics used by the function are
+     * captured up front and only used after the built-ins are known to be unchanged.
+     */
+    private static final String RESET_SCRIPT = "(function(global) {\n" +
+                    "'use strict';\n" +
+                    "var ownKeys = Reflect.ownKeys, getOwnPropertyDescriptor = Object.getOwnPropertyDescriptor, defineProperty = Object.defineProperty;\n" +
+                    "var deleteProperty = Reflect.deleteProperty, getPrototypeOf = Object.getPrototypeOf, isExtensible = Object.isExtensible, is = Object.is;\n" +
+                    "function isObject(value) { return (typeof value === 'object' && value !== null) || typeof value === 'function'; }\n" +
+                    "function snapshot(object) {\n" +
+                    "  var keys = ownKeys(object), descriptors = [];\n" +
+                    "  for (var i = 0; i < keys.length; i++) { descriptors[i] = getOwnPropertyDescriptor(object, keys[i]); }\n" +
+                    "  return {object: object, prototype: getPrototypeOf(object), extensible: isExtensible(object), keys: keys, descriptors: descriptors};\n" +
+                    "}\n" +
+                    "function sameDescriptor(a, b) {\n" +
+                    "  return is(a.value, b.value) && a.get === b.get && a.set === b.set && a.writable === b.writable && a.enumerable === b.enumerable && a.configurable === b.configurable;\n" +
+                    "}\n" +
+                    "function unchanged(s) {\n" +
+                    "  if (getPrototypeOf(s.object) !== s.prototype || isExtensible(s.object) !== s.extensible || ownKeys(s.object).length !== s.keys.length) { return false; }\n" +
+                    "  for (var i = 0; i < s.keys.length; i++) {\n" +
+                    "    var descriptor = getOwnPropertyDescriptor(s.object, s.keys[i]);\n" +
+                    "    if (descriptor === undefined || !sameDescriptor(descriptor, s.descriptors[i])) { return false; }\n" +
+                    "  }\n" +
+                    "  return true;\n" +
+                    "}\n" +
+                    "var initial = snapshot(global), initialKeys = new Map(), builtins = [];\n" +
+                    "if (isObject(initial.prototype)) { builtins.push(snapshot(initial.prototype)); }\n" +
+                    "for (var i = 0; i < initial.keys.length; i++) {\n" +
+                    "  initialKeys.set(initial.keys[i], true);\n" +
+                    "  var value = initial.descriptors[i].value;\n" +
+                    "  if (isObject(value) && value !== global) {\n" +
+                    "    builtins.push(snapshot(value));\n" +
+                    "    var prototype = getOwnPropertyDescriptor(value, 'prototype');\n" +
+                    "    if (prototype !== undefined && isObject(prototype.value)) { builtins.push(snapshot(prototype.value)); }\n" +
+                    "  }\n" +
+                    "}\n" +
+                    "return function reset() {\n" +
+                    "  var i, key, descriptor;\n" +
+                    "  for (i = 0; i < arguments.length; i++) {\n" +
+                    "    if (getOwnPropertyDescriptor(global, arguments[i]) === undefined) { return false; }\n" +
+                    "  }\n" +
+                    "  for (i = 0; i < builtins.length; i++) {\n" +
+                    "    if (!unchanged(builtins[i])) { return false; }\n" +
+                    "  }\n" +
+                    "  if (getPrototypeOf(global) !== initial.prototype || isExtensible(global) !== initial.extensible) { return false; }\n" +
+                    "  var keys = ownKeys(global);\n" +
+                    "  for (i = 0; i < keys.length; i++) {\n" +
+                    "    key = keys[i];\n" +
+                    "    if (!initialKeys.has(key)) {\n" +
+                    "      descriptor = getOwnPropertyDescriptor(global, key);\n" +
+                    "      if (descriptor.configurable) {\n" +
+                    "        if (!deleteProperty(global, key)) { return false; }\n" +
+                    "      } else if (descriptor.writable) {\n" +
+                    "        defineProperty(global, key, {value: undefined});\n" +
+                    "      } else {\n" +
+                    "        return false;\n" +
+                    "      }\n" +
+                    "    }\n" +
+                    "  }\n" +
+                    "  for (i = 0; i < initial.keys.length; i++) {\n" +
+                    "    descriptor = getOwnPropertyDescriptor(global, initial.keys[i]);\n" +
+                    "    if (descriptor === undefined || !sameDescriptor(descriptor, initial.descriptors[i])) {\n" +
+                    "      defineProperty(global, initial.keys[i], initial.descriptors[i]);\n" +
+                    "    }\n" +
+                    "  }\n" +
+                    "  return true;\n" +
+                    "};\n" +
+                    "})(this)";
+
+    static final class PooledContext {
+        private final Context context;
+        private final ContextStreams streams;
+        private final Set<String> initialKeys;
+        private final Value resetFunction;
+
+        private PooledContext(Context context, ContextStreams streams, Set<String> initialKeys, Value resetFunction) {
+            this.context = context;
+            this.streams = streams;
+            this.initialKeys = initialKeys;
+            this.resetFunction = resetFunction;
+        }
+
+        Context getContext() {
+            return context;
+        }
+
+        ContextStreams getStreams() {
+            return streams;
+        }
+    }
+
+    private final Context.Builder contextConfig;
+    private final BlockingQueue<PooledContext> idle;
+    private volatile boolean closed;
+
+    GraalJSContextPool(Context.Builder contextConfig, int capacity) {
+        this.contextConfig = contextConfig;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            idle.add(create());
+        }
+    }
+
+    PooledContext acquire() {
+        if (closed) {
+            throw new IllegalStateException("Context pool already closed.");
+        }
+        PooledContext pooled = idle.poll();
+        if (pooled == null) {
+            pooled = create();
+        }
+        return pooled;
+    }
+
+    private PooledContext create() {
+        ContextStreams streams = new ContextStreams();
+        Context context;
+        synchronized (contextConfig) {
+            context = GraalJSScriptEngine.createDefaultContext(contextConfig, streams);
+        }
+        Set<String> initialKeys = new HashSet<>(GraalJSScriptEngine.getGlobalBindings(context).getMemberKeys());
+        Value resetFunction;
+        try {
+            resetFunction = GraalJSScriptEngine.evalInternal(context, RESET_SCRIPT);
+        } catch (PolyglotException e) {
+            // e.g., ECMAScript 5 mode; such contexts are not reused
+            resetFunction = null;
+        }
+        return new PooledContext(context, streams, initialKeys, resetFunction);
+    }
+
+    void release(PooledContext pooled) {
+        pooled.streams.reset();
+        if (closed || !resetGlobalScope(pooled) || !idle.offer(pooled)) {
+            pooled.context.close();
+        }
+    }
+
+    private static boolean resetGlobalScope(PooledContext pooled) {
+        if (pooled.resetFunction == null) {
+            return false;
+        }
+        try {
+            // new bindings that are not properties of the global object are checked by the script
+            List<Object> newKeys = new ArrayList<>();
+            for (String key : GraalJSScriptEngine.getGlobalBindings(pooled.context).getMemberKeys()) {
+                if (!pooled.initialKeys.contains(key)) {
+                    newKeys.add(key);
+                }
+            }
+            return pooled.resetFunction.execute(newKeys.toArray()).asBoolean();
+        } catch (UnsupportedOperationException | PolyglotException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledContext pooled;
+        while ((pooled = idle.poll()) != null) {
+            pooled.context.close();
+        }
+    }
+}
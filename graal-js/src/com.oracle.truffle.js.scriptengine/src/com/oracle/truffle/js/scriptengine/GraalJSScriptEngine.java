@@ -45,6 +45,15 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import javax.script.AbstractScriptEngine;
@@ -73,8 +82,9 @@ import org.graalvm.polyglot.proxy.Proxy;
  */
 public final class GraalJSScriptEngine extends AbstractScriptEngine implements Compilable, Invocable, AutoCloseable {
 
-    private static final String ID = "js";
+    static final String ID = "js";
     private static final String POLYGLOT_CONTEXT = "polyglot.context";
+    private static final String POLYGLOT_BINDINGS = "polyglot.bindings";
     private static final String OUT_SYMBOL = "$$internal.out$$";
     private static final String IN_SYMBOL = "$$internal.in$$";
     private static final String ERR_SYMBOL = "$$internal.err$$";
@@ -85,7 +95,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static final String JS_GLOBAL_ARGUMENTS_OPTION = "js.global-arguments";
     private static final String SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME = "importScriptEngineGlobalBindings";
     private static final String NASHORN_COMPATIBILITY_MODE_SYSTEM_PROPERTY = "polyglot.js.nashorn-compat";
+    private static final String CONTEXT_POOL_SIZE_SYSTEM_PROPERTY = "polyglot.js.script-engine-context-pool-size";
     static final String MAGIC_OPTION_PREFIX = "polyglot.js.";
+    private static final int STREAM_BUFFER_SIZE = 8192;
 
     interface MagicBindingsOptionSetter {
 
@@ -215,6 +227,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static final EconomicSet<String> MAGIC_BINDINGS_OPTION_KEYS = EconomicSet.create();
     static final EconomicMap<String, MagicBindingsOptionSetter> MAGIC_BINDINGS_OPTION_MAP = EconomicMap.create();
     private static final boolean NASHORN_COMPATIBILITY_MODE = Boolean.getBoolean(NASHORN_COMPATIBILITY_MODE_SYSTEM_PROPERTY);
+    private static final int CONTEXT_POOL_SIZE = Integer.getInteger(CONTEXT_POOL_SIZE_SYSTEM_PROPERTY, 0);
 
     static {
         for (MagicBindingsOptionSetter setter : MAGIC_OPTION_SETTERS) {
@@ -225,6 +238,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
+    private final GraalJSContextPool contextPool;
 
     private volatile boolean closed;
     private boolean evalCalled;
@@ -234,6 +248,10 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig) {
+        this(factory, engine, contextConfig, CONTEXT_POOL_SIZE);
+    }
+
+    GraalJSScriptEngine(GraalJSEngineFactory factory, Engine engine, Context.Builder contextConfig, int contextPoolSize) {
         Engine engineToUse = engine;
         if (engineToUse == null) {
             engineToUse = Engine.newBuilder().allowExperimentalOptions(true).build();
@@ -252,21 +270,23 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         }
         this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
         this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig), ScriptContext.ENGINE_SCOPE);
+        this.contextPool = contextPoolSize > 0 ? new GraalJSContextPool(this.contextConfig, contextPoolSize) : null;
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, null), ScriptContext.ENGINE_SCOPE);
     }
 
-    static Context createDefaultContext(Context.Builder builder) {
-        DelegatingInputStream in = new DelegatingInputStream();
-        DelegatingOutputStream out = new DelegatingOutputStream();
-        DelegatingOutputStream err = new DelegatingOutputStream();
-        builder.in(in).out(out).err(err);
+    static Context createDefaultContext(Context.Builder builder, ContextStreams streams) {
+        builder.in(streams.in).out(streams.out).err(streams.err);
         Context ctx = builder.build();
-        ctx.getPolyglotBindings().putMember(OUT_SYMBOL, out);
-        ctx.getPolyglotBindings().putMember(ERR_SYMBOL, err);
-        ctx.getPolyglotBindings().putMember(IN_SYMBOL, in);
+        ctx.getPolyglotBindings().putMember(OUT_SYMBOL, streams.out);
+        ctx.getPolyglotBindings().putMember(ERR_SYMBOL, streams.err);
+        ctx.getPolyglotBindings().putMember(IN_SYMBOL, streams.in);
         return ctx;
     }
 
+    static Value getGlobalBindings(Context ctx) {
+        return ctx.getBindings(ID);
+    }
+
     /**
      * Closes the current context and makes it unusable. Operations performed after closing will
      * throw an {@link IllegalStateException}.
@@ -274,6 +294,9 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     @Override
     public void close() {
         getPolyglotContext().close();
+        if (contextPool != null) {
+            contextPool.close();
+        }
         closed = true;
     }
 
@@ -307,9 +330,14 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return context.eval(Source.newBuilder(ID, script, "internal-script").internal(true).buildLiteral());
     }
 
+    /**
+     * Creates new engine bindings with a lazily initialized polyglot context. If context pooling is
+     * enabled (see {@link #create(Engine, Context.Builder, int)}), the context is taken from the
+     * pool and returned to it when the bindings are {@linkplain AutoCloseable#close() closed}.
+     */
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig);
+        return new GraalJSBindings(contextConfig, contextPool);
     }
 
     @Override
@@ -340,16 +368,21 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private Object eval(Source source, ScriptContext scriptContext) throws ScriptException {
+        return eval(source, scriptContext, null);
+    }
+
+    private Object eval(Source source, ScriptContext scriptContext, GraalJSCompiledScript compiledScript) throws ScriptException {
         GraalJSBindings engineBindings = getOrCreateGraalJSBindings(scriptContext);
         Context polyglotContext = engineBindings.getContext();
-        ((DelegatingOutputStream) polyglotContext.getPolyglotBindings().getMember(OUT_SYMBOL).asProxyObject()).setWriter(scriptContext.getWriter());
-        ((DelegatingOutputStream) polyglotContext.getPolyglotBindings().getMember(ERR_SYMBOL).asProxyObject()).setWriter(scriptContext.getErrorWriter());
-        ((DelegatingInputStream) polyglotContext.getPolyglotBindings().getMember(IN_SYMBOL).asProxyObject()).setReader(scriptContext.getReader());
+        engineBindings.getStreams().update(scriptContext);
         try {
             if (!evalCalled) {
                 jrunscriptInitWorkaround(source, polyglotContext);
             }
             importGlobalBindings(scriptContext, engineBindings);
+            if (compiledScript != null) {
+                return engineBindings.getParsedScript(compiledScript, source).execute().as(Object.class);
+            }
             return polyglotContext.eval(source).as(Object.class);
         } catch (PolyglotException e) {
             throw new ScriptException(e);
@@ -361,17 +394,39 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static void importGlobalBindings(ScriptContext scriptContext, GraalJSBindings graalJSBindings) {
         Bindings globalBindings = scriptContext.getBindings(ScriptContext.GLOBAL_SCOPE);
         if (globalBindings != null && !globalBindings.isEmpty() && graalJSBindings != globalBindings) {
-            graalJSBindings.getContext().getBindings(ID).getMember(SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME).execute(globalBindings);
+            graalJSBindings.importGlobalBindingsFunction().execute(globalBindings);
         }
     }
 
+    static Value getImportGlobalBindingsFunction(Context ctx) {
+        return getGlobalBindings(ctx).getMember(SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME);
+    }
+
+    /**
+     * Returns the engine bindings of the script context. Engine bindings that are not
+     * {@link GraalJSBindings} are wrapped once; the wrapper is kept in the bindings themselves, so
+     * that its parsed scripts are reused by later evaluations. Their entries are copied into the
+     * polyglot context on every call.
+     */
     private GraalJSBindings getOrCreateGraalJSBindings(ScriptContext scriptContext) {
         Bindings engineB = scriptContext.getBindings(ScriptContext.ENGINE_SCOPE);
         if (engineB instanceof GraalJSBindings) {
             return ((GraalJSBindings) engineB);
         } else {
-            GraalJSBindings bindings = new GraalJSBindings(createContext(engineB));
-            bindings.putAll(engineB);
+            Context polyglotContext = createContext(engineB);
+            Object cached = engineB.get(POLYGLOT_BINDINGS);
+            GraalJSBindings bindings;
+            if (cached instanceof GraalJSBindings && ((GraalJSBindings) cached).getContext() == polyglotContext) {
+                bindings = (GraalJSBindings) cached;
+            } else {
+                bindings = new GraalJSBindings(polyglotContext);
+                engineB.put(POLYGLOT_BINDINGS, bindings);
+            }
+            for (Map.Entry<String, Object> entry : engineB.entrySet()) {
+                if (!POLYGLOT_BINDINGS.equals(entry.getKey())) {
+                    bindings.put(entry.getKey(), entry.getValue());
+                }
+            }
             return bindings;
         }
     }
@@ -387,7 +442,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                     engineB.remove(optionSetter.getOptionKey());
                 }
             }
-            ctx = createDefaultContext(builder);
+            ctx = createDefaultContext(builder, new ContextStreams());
             engineB.put(POLYGLOT_CONTEXT, ctx);
         }
         return (Context) ctx;
@@ -468,73 +523,250 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         }
     }
 
+    /**
+     * Compiles the script eagerly, reporting syntax errors immediately. The parsed script is cached
+     * per polyglot engine, so contexts that share the engine of this script engine do not parse it
+     * again.
+     */
     @Override
     public CompiledScript compile(String script) throws ScriptException {
         if (closed) {
             throw new IllegalStateException("Context already closed.");
         }
-        Source source = createSource(script, getContext());
-        return new CompiledScript() {
-            @Override
-            public ScriptEngine getEngine() {
-                return GraalJSScriptEngine.this;
-            }
-
-            @Override
-            public Object eval(ScriptContext ctx) throws ScriptException {
-                return GraalJSScriptEngine.this.eval(source, ctx);
-            }
-        };
+        return compile(createSource(script, getContext()));
     }
 
+    /**
+     * Compiles the script eagerly, see {@link #compile(String)}.
+     */
     @Override
     public CompiledScript compile(Reader reader) throws ScriptException {
         if (closed) {
             throw new IllegalStateException("Context already closed.");
         }
-        Source source = createSource(reader, getContext());
-        return new CompiledScript() {
-            @Override
-            public ScriptEngine getEngine() {
-                return GraalJSScriptEngine.this;
-            }
+        return compile(createSource(reader, getContext()));
+    }
 
-            @Override
-            public Object eval(ScriptContext ctx) throws ScriptException {
-                return GraalJSScriptEngine.this.eval(source, ctx);
-            }
-        };
+    private CompiledScript compile(Source source) throws ScriptException {
+        GraalJSCompiledScript compiledScript = new GraalJSCompiledScript(source);
+        try {
+            getOrCreateGraalJSBindings(context).getParsedScript(compiledScript, source);
+        } catch (PolyglotException e) {
+            throw new ScriptException(e);
+        }
+        return compiledScript;
     }
 
+    private final class GraalJSCompiledScript extends CompiledScript {
+
+        private final Source source;
+
+        GraalJSCompiledScript(Source source) {
+            this.source = source;
+        }
+
+        @Override
+        public ScriptEngine getEngine() {
+            return GraalJSScriptEngine.this;
+        }
+
+        @Override
+        public Object eval(ScriptContext ctx) throws ScriptException {
+            return GraalJSScriptEngine.this.eval(source, ctx, this);
+        }
+    }
+
+    /**
+     * The input and output stream proxies of a polyglot context, which are redirected to the
+     * reader and writers of the current {@link ScriptContext} on every eval.
+     */
+    static final class ContextStreams {
+        private final DelegatingInputStream in;
+        private final DelegatingOutputStream out;
+        private final DelegatingOutputStream err;
+
+        ContextStreams() {
+            this(new DelegatingInputStream(), new DelegatingOutputStream(), new DelegatingOutputStream());
+        }
+
+        private ContextStreams(DelegatingInputStream in, DelegatingOutputStream out, DelegatingOutputStream err) {
+            this.in = in;
+            this.out = out;
+            this.err = err;
+        }
+
+        /**
+         * Looks up the stream proxies of a context created by
+         * {@link GraalJSScriptEngine#createDefaultContext}.
+         */
+        static ContextStreams lookup(Context ctx) {
+            Value polyglotBindings = ctx.getPolyglotBindings();
+            return new ContextStreams((DelegatingInputStream) polyglotBindings.getMember(IN_SYMBOL).asProxyObject(),
+                            (DelegatingOutputStream) polyglotBindings.getMember(OUT_SYMBOL).asProxyObject(),
+                            (DelegatingOutputStream) polyglotBindings.getMember(ERR_SYMBOL).asProxyObject());
+        }
+
+        void update(ScriptContext scriptContext) {
+            out.setWriter(scriptContext.getWriter());
+            err.setWriter(scriptContext.getErrorWriter());
+            in.setReader(scriptContext.getReader());
+        }
+
+        void reset() {
+            out.setWriter(null);
+            err.setWriter(null);
+            in.setReader(null);
+        }
+    }
+
+    /**
+     * Input stream of a polyglot context that reads from the {@link Reader} of the current
+     * {@link ScriptContext}, encoding the characters with the default charset (like the readers of
+     * the JavaScript runtime expect).
+     */
     private static class DelegatingInputStream extends InputStream implements Proxy {
 
         private Reader reader;
+        private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        /** Characters read but not encoded yet (in read mode). */
+        private final CharBuffer chars = CharBuffer.allocate(STREAM_BUFFER_SIZE);
+        /** Encoded bytes not consumed yet (in read mode). */
+        private final ByteBuffer bytes = ByteBuffer.allocate(STREAM_BUFFER_SIZE);
+        private boolean endOfInput;
+        private boolean flushed;
+
+        DelegatingInputStream() {
+            reset();
+        }
 
         @Override
         public int read() throws IOException {
-            if (reader != null) {
-                return reader.read();
+            if (!fill()) {
+                return -1;
+            }
+            return bytes.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            } else if (len == 0) {
+                return 0;
             }
-            return 0;
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, bytes.remaining());
+            bytes.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return bytes.remaining();
+        }
+
+        /**
+         * Ensures that there are encoded bytes available. Returns false at the end of the input.
+         */
+        private boolean fill() throws IOException {
+            while (!bytes.hasRemaining()) {
+                if (reader == null || flushed) {
+                    return false;
+                }
+                if (!endOfInput && chars.remaining() < chars.capacity()) {
+                    chars.compact();
+                    int n = reader.read(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+                    if (n < 0) {
+                        endOfInput = true;
+                    } else {
+                        asBaseBuffer(chars).position(chars.position() + n);
+                    }
+                    asBaseBuffer(chars).flip();
+                }
+                asBaseBuffer(bytes).clear();
+                encoder.encode(chars, bytes, endOfInput);
+                if (endOfInput && !chars.hasRemaining()) {
+                    encoder.flush(bytes);
+                    flushed = true;
+                }
+                asBaseBuffer(bytes).flip();
+            }
+            return true;
+        }
+
+        private void reset() {
+            asBaseBuffer(chars).clear().flip();
+            asBaseBuffer(bytes).clear().flip();
+            encoder.reset();
+            endOfInput = false;
+            flushed = false;
         }
 
         void setReader(Reader reader) {
+            if (this.reader != reader) {
+                reset();
+            }
             this.reader = reader;
         }
 
     }
 
+    /**
+     * Output stream of a polyglot context that writes to the {@link Writer} of the current
+     * {@link ScriptContext}, decoding the bytes with the default charset (the charset used by the
+     * JavaScript runtime for {@code print} and {@code console.log}).
+     */
     private static class DelegatingOutputStream extends OutputStream implements Proxy {
 
         private Writer writer;
+        private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        /** Bytes not decoded yet, e.g. an incomplete multi-byte sequence (in write mode). */
+        private final ByteBuffer bytes = ByteBuffer.allocate(STREAM_BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(STREAM_BUFFER_SIZE);
 
         @Override
         public void write(int b) throws IOException {
             if (writer != null) {
-                writer.write(b);
+                bytes.put((byte) b);
+                decodeBytes();
             }
         }
 
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (writer == null) {
+                return;
+            }
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                int n = Math.min(remaining, bytes.remaining());
+                bytes.put(b, offset, n);
+                offset += n;
+                remaining -= n;
+                decodeBytes();
+            }
+        }
+
+        private void decodeBytes() throws IOException {
+            asBaseBuffer(bytes).flip();
+            CoderResult result;
+            do {
+                result = decoder.decode(bytes, chars, false);
+                asBaseBuffer(chars).flip();
+                if (chars.hasRemaining()) {
+                    writer.write(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+                }
+                asBaseBuffer(chars).clear();
+            } while (result.isOverflow());
+            bytes.compact();
+        }
+
         @Override
         public void flush() throws IOException {
             if (writer != null) {
@@ -543,11 +775,23 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         }
 
         void setWriter(Writer writer) {
+            if (this.writer != writer) {
+                asBaseBuffer(bytes).clear();
+                decoder.reset();
+            }
             this.writer = writer;
         }
 
     }
 
+    /**
+     * Coerces {@code buffer} to {@link Buffer} to avoid calls to the covariant overrides that only
+     * exist since JDK 9.
+     */
+    private static Buffer asBaseBuffer(Buffer buffer) {
+        return buffer;
+    }
+
     /**
      * Creates a new GraalJSScriptEngine with default configuration.
      *
@@ -575,6 +819,28 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return new GraalJSScriptEngine(null, engine, newContextConfig);
     }
 
+    /**
+     * Creates a new GraalJS script engine like {@link #create(Engine, Context.Builder)} that reuses
+     * the polyglot contexts of the bindings created by {@link #createBindings()}. The pool is filled
+     * with {@code contextPoolSize} contexts up front. Closing such bindings returns their context
+     * to the pool, from which it is handed out to the next bindings after its global object has
+     * been restored: added globals are removed, reassigned globals are restored and top-level
+     * {@code var} and {@code function} declarations are reset to {@code undefined}. Contexts that
+     * cannot be restored (due to top-level {@code let}, {@code const} or {@code class}
+     * declarations or modified built-in objects) are closed instead.
+     *
+     * Pooling can also be enabled for engines obtained from the {@link GraalJSEngineFactory} by
+     * setting the system property {@code polyglot.js.script-engine-context-pool-size}.
+     *
+     * @param contextPoolSize the maximum number of idle contexts kept for reuse
+     */
+    public static GraalJSScriptEngine create(Engine engine, Context.Builder newContextConfig, int contextPoolSize) {
+        if (contextPoolSize <= 0) {
+            throw new IllegalArgumentException("context pool size must be positive");
+        }
+        return new GraalJSScriptEngine(null, engine, newContextConfig, contextPoolSize);
+    }
+
     /**
      * Detects jrunscript "init.js" and installs a JSAdapter polyfill if needed.
      */
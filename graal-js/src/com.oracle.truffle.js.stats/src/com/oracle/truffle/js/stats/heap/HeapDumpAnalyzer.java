@@ -60,6 +60,9 @@ public class HeapDumpAnalyzer {
     private static final String DEFAULT_CALL_TARGET = DefaultCallTarget.class.getName();
     private static final String OPTIMIZED_CALL_TARGET = "org.graalvm.compiler.truffle.OptimizedCallTarget";
     private static final String NODE_CLONEABLE = NodeCloneable.class.getName();
+    private static final String PARSER_NODE = "com.oracle.js.parser.ir.Node";
+    private static final String PARSER_LEXICAL_CONTEXT = "com.oracle.js.parser.ir.LexicalContext";
+    private static final String PARSER_ENVIRONMENT = "com.oracle.truffle.js.parser.env.Environment";
 
     public static void analyzeHeap(List<String> classNames, List<File> dumps) throws IOException {
         for (File dump : dumps) {
@@ -91,19 +94,22 @@ public class HeapDumpAnalyzer {
 
     private static void printUsageAndExit(int exitStatus) {
         System.out.println("Usage:");
-        System.out.println("\tjava " + HeapDumpAnalyzer.class.getName() + " [-c <class name>]... dumps ...\n");
+        System.out.println("\tjava " + HeapDumpAnalyzer.class.getName() + " [-c <class name>]... [-p] dumps ...\n");
         System.out.println("positional arguments:");
         System.out.println("\theap dumps...\n");
         System.out.println("optional arguments:");
         System.out.println("\t-c <class name>, --class <class name>");
         System.out.println("\t\t\treport statistics about the subtypes of <className>");
         System.out.println("\t\t\tDefault: " + NODE);
+        System.out.println("\t-p, --parser");
+        System.out.println("\t\t\talso report statistics about the retained parser AST and scope structures");
         System.exit(exitStatus);
     }
 
     public static void main(String[] args) throws IOException {
         List<String> classNames = new LinkedList<>();
         List<File> dumps = new LinkedList<>();
+        boolean parser = false;
 
         // Checkstyle: stop
         // - control variable 'i' is modified
@@ -121,6 +127,10 @@ public class HeapDumpAnalyzer {
                         printUsageAndExit(1);
                     }
                     break;
+                case "-p":
+                case "--parser":
+                    parser = true;
+                    break;
                 default:
                     dumps.add(new File(args[i]));
                     break;
@@ -131,6 +141,9 @@ public class HeapDumpAnalyzer {
         if (classNames.size() == 0) {
             classNames.addAll(Arrays.asList(NODE, NODE_CLONEABLE, DEFAULT_CALL_TARGET, OPTIMIZED_CALL_TARGET));
         }
+        if (parser) {
+            classNames.addAll(Arrays.asList(PARSER_NODE, PARSER_LEXICAL_CONTEXT, PARSER_ENVIRONMENT));
+        }
         if (dumps.size() == 0) {
             printUsageAndExit(2);
         }
@@ -80,4 +80,19 @@ public class ArrayPrototypeBuiltins {
         }
     }
 
+    @Test
+    public void testJoinStringsAndIntegers() {
+        try (Context context = Context.newBuilder().build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, "[0, -1, 'a', 2147483647, -2147483648, ''].join(', ')");
+            assertEquals("0, -1, a, 2147483647, -2147483648, ", value.asString());
+
+            // not only strings and integers: falls back to the generic join
+            value = context.eval(JavaScriptLanguage.ID, "[1, 'b', 1.5, null, undefined, true].join('')");
+            assertEquals("1b1.5true", value.asString());
+
+            value = context.eval(JavaScriptLanguage.ID, "var x = 42; `<${x}>${'y'}${''}</${x}>`");
+            assertEquals("<42>y</42>", value.asString());
+        }
+    }
+
 }
@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.test.builtins;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
 import org.junit.Assert;
 import org.junit.Test;
@@ -79,4 +80,129 @@ public class AtomicsBuiltinsTest {
         }
     }
 
+    private static Context createContext() {
+        return Context.newBuilder(JavaScriptLanguage.ID).allowExperimentalOptions(true).option(JSContextOptions.TEST262_MODE_NAME, "true").option(
+                        JSContextOptions.ECMASCRIPT_VERSION_NAME, "2021").build();
+    }
+
+    private static final String WAIT_FOR_REPORT = "let report;\n" //
+                    + "while ((report = $262.agent.getReport()) === null) {\n" //
+                    + "  $262.agent.sleep(10);\n" //
+                    + "}\n" //
+                    + "report;";
+
+    @Test
+    public void testWaitTimeout() {
+        try (Context context = createContext()) {
+            String code = "const i32a = new Int32Array(new SharedArrayBuffer(Int32Array.BYTES_PER_ELEMENT * 4));\n" //
+                            + "[Atomics.wait(i32a, 0, 1, 10), Atomics.wait(i32a, 0, 0, 10), Atomics.notify(i32a, 0)].join();";
+            Value result = context.eval(JavaScriptLanguage.ID, code);
+            Assert.assertEquals("not-equal,timed-out,0", result.asString());
+        }
+    }
+
+    @Test
+    public void testWaitInterrupted() throws InterruptedException {
+        try (Context context = createContext()) {
+            Thread waiting = Thread.currentThread();
+            Thread interrupter = new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                waiting.interrupt();
+            });
+            interrupter.start();
+            try {
+                context.eval(JavaScriptLanguage.ID, "Atomics.wait(new Int32Array(new SharedArrayBuffer(Int32Array.BYTES_PER_ELEMENT)), 0, 0);");
+                Assert.fail("Atomics.wait() should not return");
+            } catch (PolyglotException e) {
+                // the interrupt is propagated, not reported as a time-out
+                Assert.assertTrue(e.isCancelled());
+            } finally {
+                interrupter.join();
+                Thread.interrupted();
+            }
+        }
+    }
+
+    @Test
+    public void testWaitAsyncSameAgent() {
+        try (Context context = createContext()) {
+            String code = "const i32a = new Int32Array(new SharedArrayBuffer(Int32Array.BYTES_PER_ELEMENT * 4));\n" //
+                            + "const notEqual = Atomics.waitAsync(i32a, 0, 1);\n" //
+                            + "const immediate = Atomics.waitAsync(i32a, 0, 0, 0);\n" //
+                            + "const waiting = Atomics.waitAsync(i32a, 0, 0);\n" //
+                            + "var result = [notEqual.async, notEqual.value, immediate.async, immediate.value, waiting.async, Atomics.notify(i32a, 0)];\n" //
+                            + "waiting.value.then(v => result.push(v));";
+            context.eval(JavaScriptLanguage.ID, code);
+            Value result = context.eval(JavaScriptLanguage.ID, "result.join();");
+            Assert.assertEquals("false,not-equal,false,timed-out,true,1,ok", result.asString());
+        }
+    }
+
+    @Test
+    public void testWaitAsyncMainAgentSettlesOnNextEntry() throws InterruptedException {
+        try (Context context = createContext()) {
+            String code = "const i32a = new Int32Array(new SharedArrayBuffer(Int32Array.BYTES_PER_ELEMENT * 4));\n" //
+                            + "var result = [];\n" //
+                            + "Atomics.waitAsync(i32a, 0, 0, 200).value.then(v => result.push(v));";
+            context.eval(JavaScriptLanguage.ID, code);
+            Thread.sleep(500);
+            // the main agent has no event loop: the timed-out waiter is resolved at the end of
+            // the next call into the context, not while the context is idle or during that call
+            Assert.assertEquals(0, context.eval(JavaScriptLanguage.ID, "result.length").asInt());
+            Assert.assertEquals("timed-out", context.eval(JavaScriptLanguage.ID, "result.join();").asString());
+        }
+    }
+
+    @Test
+    public void testWaitAsyncNotifyIdleAgent() {
+        try (Context context = createContext()) {
+            String code = "$262.agent.start(`\n" //
+                            + "  $262.agent.receiveBroadcast(function(sab) {\n" //
+                            + "    const i32a = new Int32Array(sab);\n" //
+                            + "    Atomics.waitAsync(i32a, 0, 0).value.then(v => {\n" //
+                            + "      $262.agent.report(v);\n" //
+                            + "      $262.agent.leaving();\n" //
+                            + "    });\n" //
+                            + "    Atomics.store(i32a, 1, 1);\n" //
+                            + "  });\n" //
+                            + "`);\n" //
+                            + "const sab = new SharedArrayBuffer(Int32Array.BYTES_PER_ELEMENT * 4);\n" //
+                            + "$262.agent.broadcast(sab);\n" //
+                            + "const i32a = new Int32Array(sab);\n" //
+                            + "while (Atomics.load(i32a, 1) === 0) {\n" //
+                            + "  $262.agent.sleep(10);\n" //
+                            + "}\n" //
+                            // the agent is idle now, the notification has to wake it up
+                            + "if (Atomics.notify(i32a, 0) !== 1) throw new Error('waiter not found');\n" //
+                            + WAIT_FOR_REPORT;
+            Value result = context.eval(JavaScriptLanguage.ID, code);
+            Assert.assertEquals("ok", result.asString());
+        }
+    }
+
+    @Test
+    public void testWaitAsyncTimeoutIdleAgent() {
+        try (Context context = createContext()) {
+            String code = "$262.agent.start(`\n" //
+                            + "  $262.agent.receiveBroadcast(function(sab) {\n" //
+                            + "    const i32a = new Int32Array(sab);\n" //
+                            + "    Atomics.waitAsync(i32a, 0, 0, 10).value.then(v => {\n" //
+                            + "      $262.agent.report(v);\n" //
+                            + "      $262.agent.leaving();\n" //
+                            + "    });\n" //
+                            + "  });\n" //
+                            + "`);\n" //
+                            + "const sab = new SharedArrayBuffer(Int32Array.BYTES_PER_ELEMENT * 4);\n" //
+                            + "$262.agent.broadcast(sab);\n" //
+                            // nobody notifies, the elapsed timeout has to wake up the idle agent
+                            + WAIT_FOR_REPORT;
+            Value result = context.eval(JavaScriptLanguage.ID, code);
+            Assert.assertEquals("timed-out", result.asString());
+        }
+    }
+
 }
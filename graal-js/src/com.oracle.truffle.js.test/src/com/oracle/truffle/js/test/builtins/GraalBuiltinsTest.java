@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+
+/**
+ * Tests of {@code Graal.mapFile}.
+ */
+public class GraalBuiltinsTest {
+
+    private static final byte[] CONTENT = {1, 2, 3, 4, 5, 6, 7, 8};
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("mapFile", ".bin");
+        Files.write(file, CONTENT);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    private Value mapAndModify(String options) {
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowIO(true).build()) {
+            context.getBindings(JavaScriptLanguage.ID).putMember("path", file.toString());
+            String code = "const buffer = Graal.mapFile(path, " + options + ");\n" //
+                            + "const bytes = new Uint8Array(buffer);\n" //
+                            + "const before = bytes.join();\n" //
+                            + "bytes[0] = 42;\n" //
+                            + "[buffer instanceof SharedArrayBuffer, buffer.byteLength, before].join(';');";
+            return context.eval(JavaScriptLanguage.ID, code);
+        }
+    }
+
+    @Test
+    public void testReadOnly() throws IOException {
+        assertEquals("false;4;3,4,5,6", mapAndModify("{mode: 'readonly', offset: 2, length: 4}").asString());
+        assertEquals("false;8;1,2,3,4,5,6,7,8", mapAndModify("{mode: 'readonly'}").asString());
+        assertArrayEquals(CONTENT, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testPrivate() throws IOException {
+        assertEquals("false;6;3,4,5,6,7,8", mapAndModify("{mode: 'private', offset: 2}").asString());
+        // default mode
+        assertEquals("false;4;3,4,5,6", mapAndModify("{offset: 2, length: 4}").asString());
+        assertEquals("false;8;1,2,3,4,5,6,7,8", mapAndModify("undefined").asString());
+        assertArrayEquals(CONTENT, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        assertEquals("false;4;3,4,5,6", mapAndModify("{mode: 'readwrite', offset: 2, length: 4}").asString());
+        byte[] expected = CONTENT.clone();
+        expected[2] = 42;
+        assertArrayEquals(expected, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testShared() throws IOException {
+        assertEquals("true;8;1,2,3,4,5,6,7,8", mapAndModify("{mode: 'readwrite', shared: true}").asString());
+        assertEquals(42, Files.readAllBytes(file)[0]);
+    }
+
+    @Test
+    public void testOutOfRange() throws IOException {
+        for (String options : new String[]{"{mode: 'readonly', offset: 4, length: 5}", "{offset: 9}", "{mode: 'readwrite', length: 100}", "{offset: -1}"}) {
+            try {
+                mapAndModify(options);
+                fail(options);
+            } catch (PolyglotException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("RangeError"));
+            }
+        }
+        // the file must not have been extended
+        assertArrayEquals(CONTENT, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testInvalidMode() {
+        try {
+            mapAndModify("{mode: 'write'}");
+            fail();
+        } catch (PolyglotException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("TypeError"));
+        }
+    }
+}
@@ -41,6 +41,7 @@
 package com.oracle.truffle.js.test.builtins;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -126,6 +127,21 @@ public class JavaBuiltinsTest extends JSTest {
         test("Java.extend(1);", "needs Java types");
     }
 
+    @Test
+    public void testJavaExtendSharedAcrossContexts() {
+        String src = "Java.extend(Java.type('java.lang.Runnable'), Java.type('java.util.concurrent.Callable'))";
+        Object adapter1;
+        Object adapter2;
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowAllAccess(true).build()) {
+            adapter1 = context.eval(JavaScriptLanguage.ID, src).asHostObject();
+        }
+        try (Context context = Context.newBuilder(JavaScriptLanguage.ID).allowAllAccess(true).build()) {
+            adapter2 = context.eval(JavaScriptLanguage.ID, src).asHostObject();
+        }
+        assertTrue(adapter1 instanceof Class<?>);
+        assertSame(adapter1, adapter2);
+    }
+
     @Test
     public void testJavaFrom() {
         String result = test("var t = Java.from(arg); ''+t;", null, true, new Object[]{1, 2, 3});
@@ -155,6 +171,17 @@ public class JavaBuiltinsTest extends JSTest {
         test("var t = Java.to(1, 'int[]'); ''+t;", "is not an Object");
     }
 
+    @Test
+    public void testJavaFromToPrimitiveArrays() {
+        assertEquals("1,2,3", test("var t = Java.from(arg); t.push(4); t.pop(); ''+t;", null, true, new int[]{1, 2, 3}));
+        assertEquals("1.5,-2", test("''+Java.from(arg);", null, true, new double[]{1.5, -2}));
+        assertEquals("-1,127", test("''+Java.from(arg);", null, true, new byte[]{-1, 127}));
+
+        assertEquals("3,1,2", test("var a = Java.to([1, 2, 3], 'int[]'); [a.length, a[0], a[1]].join();"));
+        assertEquals("2,0.5,7", test("var a = Java.to([0.5, 7], 'double[]'); [a.length, a[0], a[1]].join();"));
+        assertEquals("2,1,2", test("var a = Java.to([1, 2], 'long[]'); [a.length, a[0], a[1]].join();"));
+    }
+
     @Test
     public void testJavaSuper() {
         test("var t = Java.super({a:'foo'}); ''+t;");
@@ -64,4 +64,64 @@ public class RegExpBuiltinTest {
         }
     }
 
+    @Test
+    public void testLiteralReplacement() {
+        try (Context context = Context.create()) {
+            Value result = context.eval(JavaScriptLanguage.ID, "var r = [];" +
+                            "for (var i = 0; i < 3; i++) {" +
+                            "  r.push('a<b>c<'.replace(/[<>]/g, ''));" +
+                            "  r.push('a<b>c<'.replace(/[<>]/g, '$$'));" +
+                            "  r.push('a<b>c<'.replace(/(<)/g, '[$1]'));" +
+                            "  r.push('a<b>c<'.replace(/(?<lt><)/g, '$<lt>$<'));" +
+                            "  r.push('a<b>c<'.replace(/</, '&lt;'));" +
+                            "}" +
+                            "r.join(',');");
+            String expected = "abc,a$b$c$,a[<]b>c[<],a<$<b>c<$<,a&lt;b>c<";
+            Assert.assertEquals(expected + "," + expected + "," + expected, result.asString());
+        }
+    }
+
+    @Test
+    public void testLiteralSplit() {
+        try (Context context = Context.create()) {
+            Value result = context.eval(JavaScriptLanguage.ID, "var r = [];" +
+                            "for (var i = 0; i < 3; i++) {" +
+                            "  r.push(JSON.stringify('a, b,, c, '.split(/, /)));" +
+                            "  r.push(JSON.stringify('a.b.c'.split(/\\./, 2)));" +
+                            "  r.push(JSON.stringify(''.split(/x/)));" +
+                            "  r.push(JSON.stringify('aXbxc'.split(/x/i)));" +
+                            "  r.push(JSON.stringify('a-b-c'.split(/-/y)));" +
+                            "  'k=v'.split(/=/); r.push(RegExp.lastMatch + RegExp.rightContext);" +
+                            "}" +
+                            "r.join(';');");
+            String expected = "[\"a\",\"b,\",\"c\",\"\"];[\"a\",\"b\"];[\"\"];[\"a\",\"b\",\"c\"];[\"a\",\"b\",\"c\"];=v";
+            Assert.assertEquals(expected + ";" + expected + ";" + expected, result.asString());
+        }
+    }
+
+    @Test
+    public void testLiteralSplitChangingPattern() {
+        try (Context context = Context.create()) {
+            Value result = context.eval(JavaScriptLanguage.ID, "var r = [];" +
+                            "var separators = [',', ',', ';', 'a|b', ',', '--'];" +
+                            "for (var i = 0; i < separators.length; i++) {" +
+                            "  r.push('x,y;z--w'.split(new RegExp(separators[i])).length);" +
+                            "}" +
+                            "r.join();");
+            Assert.assertEquals("2,2,2,1,2,2", result.asString());
+        }
+    }
+
+    @Test
+    public void testMatchOnly() {
+        try (Context context = Context.create()) {
+            Value result = context.eval(JavaScriptLanguage.ID, "var r = [];" +
+                            "var g = /a(b)?/g;" +
+                            "r.push(g.test('xab a'), g.lastIndex, RegExp.$1, g.test('xab a'), g.lastIndex, g.test('xab a'), g.lastIndex);" +
+                            "var e = /a/; e.exec = function(s) { r.push('exec:' + s); return null; };" +
+                            "r.push(e.test('a'));" +
+                            "r.join();");
+            Assert.assertEquals("true,3,b,true,5,false,0,exec:a,false", result.asString());
+        }
+    }
 }
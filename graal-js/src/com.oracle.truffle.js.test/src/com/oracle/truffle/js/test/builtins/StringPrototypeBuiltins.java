@@ -131,4 +131,33 @@ public class StringPrototypeBuiltins {
         }
     }
 
+    @Test
+    public void testLatin1CaseConversion() {
+        assertTrue(testIntl("'Abc \\u00C0\\u00DE\\u00D7'.toLowerCase() === 'abc \\u00E0\\u00FE\\u00D7';"));
+        assertTrue(testIntl("'abc \\u00E0\\u00FE\\u00F7'.toUpperCase() === 'ABC \\u00C0\\u00DE\\u00F7';"));
+        assertTrue(testIntl("'stra\\u00DFe \\u00B5 \\u00FF'.toUpperCase() === 'STRASSE \\u039C \\u0178';"));
+        assertTrue(testIntl("'caf\\u00E9'.normalize('NFD') === 'cafe\\u0301' && 'caf\\u00E9'.normalize() === 'caf\\u00E9';"));
+        assertTrue(testIntl("'\\u00AA'.normalize('NFKC') === 'a';"));
+    }
+
+    @Test
+    public void testIndexOfLongPattern() {
+        assertTrue(testIntl("var sep = '--boundary-' + 'x'.repeat(40) + '--';" +
+                        "var s = 'a'.repeat(3000) + sep + 'b'.repeat(2000) + sep;" +
+                        "var pos = s.indexOf(sep);" +
+                        "pos === 3000 && s.indexOf(sep, pos + 1) === 5000 + sep.length && s.indexOf(sep, -5) === 3000 &&" +
+                        "s.indexOf(sep + 'c') === -1 && s.includes(sep, 3001) && !s.includes(sep, 5001 + sep.length);"));
+    }
+
+    @Test
+    public void testIndexOfAlternatingLongPatterns() {
+        assertTrue(testIntl("var sep1 = '--first-' + 'x'.repeat(40);" +
+                        "var sep2 = '--second-' + 'y'.repeat(40);" +
+                        "var s = 'a'.repeat(2000) + sep1 + 'b'.repeat(2000) + sep2;" +
+                        "var r = [];" +
+                        "for (var i = 0; i < 6; i++) { r.push(s.indexOf(i % 3 === 2 ? sep2 : sep1)); }" +
+                        "var p2 = 4000 + sep1.length;" +
+                        "r.join() === [2000, 2000, p2, 2000, 2000, p2].join();"));
+    }
+
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+
+/**
+ * Tests of the bulk byte copies of {@code %TypedArray%.prototype.set}, {@code slice} and
+ * {@code fill}, with heap and direct array buffers (shared array buffers are always direct).
+ */
+public class TypedArrayPrototypeBuiltinsTest {
+
+    private static void assertResult(String expected, String code) {
+        for (boolean direct : new boolean[]{false, true}) {
+            try (Context context = Context.newBuilder(JavaScriptLanguage.ID).option(JSContextOptions.DIRECT_BYTE_BUFFER_NAME, String.valueOf(direct)).build()) {
+                assertEquals("direct=" + direct, expected, context.eval(JavaScriptLanguage.ID, code).asString());
+            }
+        }
+    }
+
+    @Test
+    public void testSet() {
+        assertResult("0,0,1,-2,3,-4,5,0;0,0,0,-2,3,-4;-1,2,127;1,-2,3,-4,5;1,-2,3,-4,5", "var r = [];" +
+                        "var src = new Int16Array([1, -2, 3, -4, 5]);" +
+                        "var dst = new Int16Array(8); dst.set(src, 2); r.push(dst.join());" +
+                        "var view = new Int16Array(new ArrayBuffer(20), 4, 6); view.set(src.subarray(1, 4), 3); r.push(view.join());" +
+                        "var f = new Float64Array(3); f.set(new Int8Array([-1, 2, 127])); r.push(f.join());" +
+                        "var shared = new Int16Array(new SharedArrayBuffer(10)); shared.set(src);" +
+                        "var back = new Int16Array(5); back.set(shared); r.push(shared.join(), back.join());" +
+                        "r.join(';');");
+    }
+
+    @Test
+    public void testSetOverlapping() {
+        assertResult("1,2,1,2,3,4;3,4,5,6,5,6;1,2,3,1,2", "var r = [];" +
+                        "var a = new Uint8Array([1, 2, 3, 4, 5, 6]); a.set(a.subarray(0, 4), 2); r.push(a.join());" +
+                        "a = new Uint8Array([1, 2, 3, 4, 5, 6]); a.set(a.subarray(2), 0); r.push(a.join());" +
+                        "var i16 = new Int16Array([1, 2, 3, 4, 5]); i16.set(new Int16Array(i16.buffer, 0, 2), 3); r.push(i16.join());" +
+                        "r.join(';');");
+    }
+
+    @Test
+    public void testSlice() {
+        assertResult("-20,30,-40;-40,50;30,-40;0;2,3;-20,30;-20,30,-40;-20,30,-40,-40,50;7,7,7", "var r = [];" +
+                        "var a = new Int32Array([10, -20, 30, -40, 50]);" +
+                        "r.push(a.slice(1, 4).join(), a.slice(-2).join(), new Int32Array(a.buffer, 4, 3).slice(1).join(), a.slice(3, 1).length);" +
+                        "class MyInt32Array extends Int32Array {}" +
+                        "r.push(new MyInt32Array([1, 2, 3]).slice(1).join());" +
+                        "a.constructor = {[Symbol.species]: Float32Array}; r.push(a.slice(1, 3).join());" +
+                        "a.constructor = {[Symbol.species]: function(n) { return new Int32Array(a.buffer, 0, n); }};" +
+                        "r.push(a.slice(1, 4).join(), a.join());" +
+                        "r.push(new Int32Array(new SharedArrayBuffer(16)).fill(7).slice(1).join());" +
+                        "r.join(';');");
+    }
+
+    @Test
+    public void testFill() {
+        assertResult("44,44,44,44,44;0,-2,-2,-2,-2,-2,0;0,0,1.5,1.5,1.5;0,3735928559,3735928559,3735928559,0;0,0,0,0;0,0,9,9,9,9,0,0;NaN,NaN;-1,-1,-1", "var r = [];" +
+                        "r.push(new Uint8Array(5).fill(300).join());" +
+                        "r.push(new Int16Array(7).fill(-2, 1, -1).join());" +
+                        "r.push(new Float64Array(5).fill(1.5, -3).join());" +
+                        "r.push(new Uint32Array(new ArrayBuffer(40), 8, 5).fill(0xdeadbeef, 1, 4).join());" +
+                        "r.push(new Int8Array(4).fill(1, 3, 1).join());" +
+                        "var u = new Uint8Array(8); u.subarray(2, 6).fill(9); r.push(u.join());" +
+                        "r.push(new Float32Array(2).fill(NaN).join());" +
+                        "r.push(new Int32Array(new SharedArrayBuffer(12)).fill(-1).join());" +
+                        "r.join(';');");
+    }
+}
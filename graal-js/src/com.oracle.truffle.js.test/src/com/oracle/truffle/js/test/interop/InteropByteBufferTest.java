@@ -159,4 +159,66 @@ public class InteropByteBufferTest {
             assertEquals(jBuffer.get(2), 43);
         }
     }
+
+    @Test
+    public void testTypedArrayViewOfHeapBuffer() {
+        byte[] bytes = {1, 2, 3, 4, 5};
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try (Context context = Context.create(ID)) {
+            context.getBindings("js").putMember("buffer", buffer);
+            Value jsBuffer = context.eval(ID, "var ia = new Int8Array(buffer); ia[1] = 42; ia;");
+            assertEquals(5, jsBuffer.getArraySize());
+            assertEquals(42, bytes[1]);
+            assertEquals(3, jsBuffer.getArrayElement(2).asByte());
+            assertEquals(4, jsBuffer.getArrayElement(3).asByte());
+            assertEquals(2, context.eval(ID, "new Int8Array(buffer, 1, 2).length").asInt());
+        }
+    }
+
+    @Test
+    public void testTypedArrayViewOfPartialHeapBuffer() {
+        byte[] bytes = {1, 2, 3, 4, 5};
+        ByteBuffer[] buffers = {ByteBuffer.wrap(bytes, 1, 3).slice(), (ByteBuffer) ByteBuffer.wrap(bytes).position(1).limit(4), ByteBuffer.wrap(bytes, 1, 3)};
+        try (Context context = Context.create(ID)) {
+            for (ByteBuffer buffer : buffers) {
+                bytes[1] = 2;
+                context.getBindings("js").putMember("buffer", buffer);
+                Value jsBuffer = context.eval(ID, "var ia = new Int8Array(buffer); ia[0] = 42; ia;");
+                assertEquals(3, jsBuffer.getArraySize());
+                assertEquals(42, bytes[1]);
+                assertEquals(3, jsBuffer.getArrayElement(1).asByte());
+                assertEquals(4, jsBuffer.getArrayElement(2).asByte());
+                // the view starts at the position of the buffer within the backing array
+                assertEquals(1, context.eval(ID, "ia.byteOffset").asInt());
+                assertEquals(5, context.eval(ID, "ia.buffer.byteLength").asInt());
+                // byteOffset and length are relative to the remaining bytes of the buffer
+                assertEquals(4, context.eval(ID, "new Int8Array(buffer, 2, 1)[0]").asInt());
+                assertTrue(context.eval(ID, "try { new Int8Array(buffer, 1, 3); false; } catch (e) { e instanceof RangeError; }").asBoolean());
+            }
+        }
+    }
+
+    @Test
+    public void testTypedArrayViewOfDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(6);
+        buffer.position(2);
+        try (Context context = Context.create(ID)) {
+            context.getBindings("js").putMember("buffer", buffer);
+            Value jsBuffer = context.eval(ID, "var ia = new Uint16Array(buffer); ia[1] = 0x0101; ia;");
+            assertEquals(2, jsBuffer.getArraySize());
+            assertEquals(1, buffer.get(4));
+            assertEquals(1, buffer.get(5));
+            buffer.put(2, (byte) 7);
+            assertEquals(7, context.eval(ID, "new Uint8Array(buffer)[0]").asInt());
+        }
+    }
+
+    @Test
+    public void testTypedArrayViewOfReadOnlyBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(4).asReadOnlyBuffer();
+        try (Context context = Context.create(ID)) {
+            context.getBindings("js").putMember("buffer", buffer);
+            assertTrue(context.eval(ID, "try { new Int8Array(buffer); false; } catch (e) { e instanceof TypeError; }").asBoolean());
+        }
+    }
 }
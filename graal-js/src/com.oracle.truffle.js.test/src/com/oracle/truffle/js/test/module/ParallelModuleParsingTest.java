@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.module;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Module graphs whose imported modules are parsed on background threads when run with
+ * {@code -Dtruffle.js.ParallelModuleParsing=true}. Without the option, the same graphs are loaded
+ * sequentially and the results must be the same.
+ */
+public class ParallelModuleParsingTest {
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("modules");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (File file : dir.toFile().listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(dir);
+    }
+
+    private File write(String name, String code) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, code.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    private static String run(File main) throws IOException {
+        try (Context context = Context.newBuilder(ID).allowIO(true).build()) {
+            return run(context, main);
+        }
+    }
+
+    private static String run(Context context, File main) throws IOException {
+        context.eval(ID, "var log = [];");
+        context.eval(Source.newBuilder(ID, main).mimeType("application/javascript+module").build());
+        return context.eval(ID, "log.join()").asString();
+    }
+
+    @Test
+    public void testDiamond() throws IOException {
+        write("d.mjs", "log.push('d'); export const d = 1;");
+        write("b.mjs", "import {d} from './d.mjs'; log.push('b' + d); export const b = d + 1;");
+        write("c.mjs", "import {d} from './d.mjs'; log.push('c' + d); export const c = d + 2;");
+        File main = write("main.mjs", "import {b} from './b.mjs'; import {c} from './c.mjs'; log.push('main' + (b + c));");
+        assertEquals("d,b1,c1,main5", run(main));
+    }
+
+    @Test
+    public void testCycle() throws IOException {
+        write("a.mjs", "import {b} from './b.mjs'; export function a() { return 'a'; } log.push('a' + b());");
+        write("b.mjs", "import {a} from './a.mjs'; export function b() { return 'b'; } log.push('b' + a());");
+        File main = write("main.mjs", "import {a} from './a.mjs'; log.push('main' + a());");
+        assertEquals("ba,ab,maina", run(main));
+    }
+
+    @Test
+    public void testSyntaxErrorInImportedModule() throws IOException {
+        write("ok.mjs", "export const ok = 1;");
+        write("bad.mjs", "export const bad = ;");
+        File main = write("main.mjs", "import {ok} from './ok.mjs'; import {bad} from './bad.mjs'; log.push(ok + bad);");
+        assertSyntaxError(main, "bad.mjs");
+    }
+
+    @Test
+    public void testInvalidRegExpInImportedModule() throws IOException {
+        // regular expression literals of background parses are validated on the resolving thread
+        write("ok.mjs", "export const ok = /a+/;");
+        write("badregexp.mjs", "export const bad = /a(/;");
+        File main = write("main.mjs", "import {ok} from './ok.mjs'; import {bad} from './badregexp.mjs'; log.push(ok, bad);");
+        assertSyntaxError(main, null);
+    }
+
+    @Test
+    public void testModuleNamedAfterSpecifier() throws IOException {
+        write("where.mjs", "export const where = new Error().stack;");
+        File main = write("main.mjs", "import {where} from './where.mjs'; log.push(where.includes('./where.mjs:1'));");
+        assertEquals("true", run(main));
+    }
+
+    @Test
+    public void testFailedGraphDoesNotKeepParsedModules() throws IOException {
+        write("bad.mjs", "export const bad = ;");
+        File other = write("other.mjs", "log.push('old');");
+        File main = write("main.mjs", "import './bad.mjs'; import './other.mjs';");
+        try (Context context = Context.newBuilder(ID).allowIO(true).build()) {
+            try {
+                run(context, main);
+                fail("SyntaxError expected");
+            } catch (PolyglotException e) {
+                assertTrue(e.getMessage(), e.isSyntaxError());
+            }
+            // other.mjs has not been loaded, so its current content must be used
+            Files.write(other.toPath(), "log.push('new');".getBytes(StandardCharsets.UTF_8));
+            File main2 = write("main2.mjs", "import './other.mjs';");
+            assertEquals("new", run(context, main2));
+        }
+    }
+
+    private static void assertSyntaxError(File main, String fileName) throws IOException {
+        try {
+            run(main);
+            fail("SyntaxError expected");
+        } catch (PolyglotException e) {
+            assertTrue(e.getMessage(), e.isSyntaxError());
+            if (fileName != null) {
+                assertTrue(e.getMessage(), e.getMessage().contains(fileName));
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
+
+public class JSExternalStringTest {
+
+    private static JSExternalString oneByte(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        return JSExternalString.create(buffer, true);
+    }
+
+    private static JSExternalString twoByte(String content) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(content.length() * 2).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < content.length(); i++) {
+            buffer.putChar(i * 2, content.charAt(i));
+        }
+        return JSExternalString.create(buffer, false);
+    }
+
+    private static void assertContent(String expected, JSExternalString string) {
+        assertEquals(expected.length(), string.length());
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(expected.charAt(i), string.charAt(i));
+        }
+        assertEquals(expected.substring(2, 5), string.subSequence(2, 5).toString());
+        assertEquals("", string.subSequence(3, 3).toString());
+        char[] chars = new char[4];
+        string.getChars(1, 4, chars, 1);
+        assertEquals("\0" + expected.substring(1, 4), new String(chars));
+    }
+
+    @Test
+    public void testOneByte() {
+        String expected = "caf\u00e9 latin-1 \u00ff";
+        JSExternalString string = oneByte(expected);
+        assertTrue(string.isOneByte());
+        assertContent(expected, string);
+    }
+
+    @Test
+    public void testTwoByte() {
+        String expected = "\u20ac uses two bytes \ud83d\ude00";
+        JSExternalString string = twoByte(expected);
+        assertFalse(string.isOneByte());
+        assertContent(expected, string);
+    }
+
+    @Test
+    public void testFlatten() {
+        String expected = "flattened on demand";
+        JSExternalString string = twoByte(expected);
+        String flat = string.toString();
+        assertEquals(expected, flat);
+        // the flat copy is cached and used by the other operations
+        assertSame(flat, string.toString());
+        assertContent(expected, string);
+        assertEquals(expected, oneByte(expected).toString());
+        assertEquals("", oneByte("").toString());
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        JSExternalString string = oneByte("abc");
+        try {
+            string.charAt(3);
+            fail("charAt(3) should throw");
+        } catch (StringIndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            string.charAt(-1);
+            fail("charAt(-1) should throw");
+        } catch (StringIndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            string.subSequence(2, 4);
+            fail("subSequence(2, 4) should throw");
+        } catch (StringIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+}
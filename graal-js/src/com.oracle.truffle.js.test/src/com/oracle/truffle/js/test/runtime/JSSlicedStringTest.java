@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
+
+public class JSSlicedStringTest {
+
+    private static final String PARENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static JSSlicedString slice(int start, int end) {
+        return JSSlicedString.create(PARENT, start, end);
+    }
+
+    @Test
+    public void testContent() {
+        JSSlicedString sliced = slice(10, 30);
+        assertFalse(sliced.isFlat());
+        assertEquals(20, sliced.length());
+        assertEquals('a', sliced.charAt(0));
+        assertEquals('t', sliced.charAt(19));
+        assertEquals("cde", sliced.subSequence(2, 5).toString());
+        char[] chars = new char[3];
+        sliced.getChars(1, 4, chars, 0);
+        assertEquals("bcd", new String(chars));
+
+        assertEquals(PARENT.substring(10, 30), sliced.toString());
+        assertTrue(sliced.isFlat());
+        assertEquals('a', sliced.charAt(0));
+        assertEquals('t', sliced.charAt(19));
+        assertEquals("cde", sliced.subSequence(2, 5).toString());
+        sliced.getChars(1, 4, chars, 0);
+        assertEquals("bcd", new String(chars));
+    }
+
+    @Test
+    public void testEquality() {
+        try (Context context = Context.create(JavaScriptLanguage.ID)) {
+            Value bindings = context.getBindings(JavaScriptLanguage.ID);
+            bindings.putMember("sliced", slice(10, 30));
+            bindings.putMember("other", slice(10, 30));
+            bindings.putMember("expected", PARENT.substring(10, 30));
+            Value result = context.eval(JavaScriptLanguage.ID, "[typeof sliced, sliced === expected, sliced == expected, Object.is(sliced, expected), sliced === other, " +
+                            "sliced < expected + '!', sliced.length, sliced + '!' === expected + '!'].join()");
+            assertEquals("string,true,true,true,true,true,20,true", result.asString());
+        }
+    }
+
+    @Test
+    public void testHashing() {
+        try (Context context = Context.create(JavaScriptLanguage.ID)) {
+            Value bindings = context.getBindings(JavaScriptLanguage.ID);
+            bindings.putMember("sliced", slice(10, 30));
+            bindings.putMember("expected", PARENT.substring(10, 30));
+            Value result = context.eval(JavaScriptLanguage.ID, "const map = new Map([[sliced, 1]]);\n" //
+                            + "const set = new Set([expected]);\n" //
+                            + "const obj = {};\n" //
+                            + "obj[sliced] = 2;\n" //
+                            + "[map.get(expected), set.has(sliced), obj[expected], Object.keys(obj)[0] === expected].join()");
+            assertEquals("1,true,2,true", result.asString());
+        }
+    }
+
+    @Test
+    public void testInterop() {
+        try (Context context = Context.create(JavaScriptLanguage.ID)) {
+            Value sliced = context.asValue(slice(5, 25));
+            assertTrue(sliced.isString());
+            assertEquals(PARENT.substring(5, 25), sliced.asString());
+            context.getBindings(JavaScriptLanguage.ID).putMember("sliced", slice(5, 25));
+            Value result = context.eval(JavaScriptLanguage.ID, "sliced");
+            assertTrue(result.isString());
+            assertEquals(PARENT.substring(5, 25), result.asString());
+        }
+    }
+
+    /**
+     * Runs with {@code -Dtruffle.js.SlicedStrings=true} (the {@code slicedstrings} gate).
+     */
+    @Test
+    public void testSplitAndSubstring() {
+        assumeTrue(JSTruffleOptions.SlicedStrings);
+        try (Context context = Context.create(JavaScriptLanguage.ID)) {
+            context.eval(JavaScriptLanguage.ID, "var fields = [];\n" //
+                            + "for (var i = 0; i < 50; i++) { fields.push('field-' + String(i).padStart(14, '0')); }\n" //
+                            + "var record = fields.join(',');\n" //
+                            + "var parts = record.split(',');\n" //
+                            + "var limited = record.split(',', 2);\n" //
+                            + "var middle = record.substring(3, record.length - 3);\n" //
+                            + "var prefix = record.substring(0, 40);\n" //
+                            + "var tiny = 'a,b,c'.split(',');");
+            DynamicObject global = JavaScriptLanguage.getJSRealm(context).getGlobalObject();
+            DynamicObject parts = (DynamicObject) JSObject.get(global, "parts");
+            assertEquals(50, context.eval(JavaScriptLanguage.ID, "parts.length").asInt());
+            for (int i = 0; i < 50; i++) {
+                Object part = JSObject.get(parts, i);
+                assertTrue(String.valueOf(i), part instanceof JSSlicedString);
+            }
+            assertTrue(JSObject.get(global, "middle") instanceof JSSlicedString);
+            // too little of the parent string to retain it
+            assertTrue(JSObject.get(global, "prefix") instanceof String);
+            Object limited = JSObject.get(global, "limited");
+            assertTrue(JSObject.get((DynamicObject) limited, 0) instanceof String);
+            // shorter than MinSlicedStringLength
+            Object tiny = JSObject.get(global, "tiny");
+            assertTrue(JSObject.get((DynamicObject) tiny, 0) instanceof String);
+            assertEquals("true,field-00000000000007,true", context.eval(JavaScriptLanguage.ID,
+                            "[parts.join(',') === record, parts[7], middle === record.slice(3, -3)].join()").asString());
+        }
+    }
+
+    @Test
+    public void testConcurrentFlatten() throws InterruptedException {
+        String expected = PARENT.substring(3, 33);
+        for (int round = 0; round < 100; round++) {
+            JSSlicedString sliced = slice(3, 33);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            List<String> failures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                boolean flatten = t % 2 == 0;
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    String actual;
+                    if (flatten) {
+                        actual = sliced.toString();
+                    } else {
+                        StringBuilder sb = new StringBuilder();
+                        for (int i = 0; i < sliced.length(); i++) {
+                            sb.append(sliced.charAt(i));
+                        }
+                        actual = sb.toString();
+                    }
+                    if (!expected.equals(actual)) {
+                        synchronized (failures) {
+                            failures.add(actual);
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(failures.toString(), failures.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+
+/**
+ * Executes function bodies that are translated on their first call. Exercises lazy translation
+ * when run with {@code -Dtruffle.js.LazyTranslation=true} (the {@code lazytranslation} gate).
+ */
+public class LazyTranslationTest {
+
+    private static String eval(String code) {
+        return eval(Context.newBuilder(JavaScriptLanguage.ID), code);
+    }
+
+    private static String eval(Context.Builder builder, String code) {
+        try (Context context = builder.build()) {
+            return context.eval(JavaScriptLanguage.ID, code).asString();
+        }
+    }
+
+    @Test
+    public void testClosures() {
+        assertEquals("1,2,10,3", eval("function counter() {\n" //
+                        + "  var count = 0;\n" //
+                        + "  return function() { return ++count; };\n" //
+                        + "}\n" //
+                        + "var c = counter();\n" //
+                        + "var a = c(), b = c();\n" //
+                        + "function late() { return declaredLater; }\n" //
+                        + "var declaredLater = 10;\n" //
+                        + "[a, b, late(), c()].join();"));
+        assertEquals("3,4", eval("function outer() {\n" //
+                        + "  let x = 1;\n" //
+                        + "  function inc() { x++; }\n" //
+                        + "  function get() { return x; }\n" //
+                        + "  return [inc, get];\n" //
+                        + "}\n" //
+                        + "var [inc, get] = outer();\n" //
+                        + "inc(); inc();\n" //
+                        + "var r = [get()];\n" //
+                        + "inc();\n" //
+                        + "r.push(get()); r.join();"));
+    }
+
+    @Test
+    public void testNestedFunctions() {
+        assertEquals("abc,2,never", eval("var v = 'a';\n" //
+                        + "function f1() {\n" //
+                        + "  var w = 'b';\n" //
+                        + "  function unused() { throw new Error('not called'); }\n" //
+                        + "  function f2() {\n" //
+                        + "    var x = 'c';\n" //
+                        + "    function f3() { return v + w + x; }\n" //
+                        + "    return f3();\n" //
+                        + "  }\n" //
+                        + "  return f2();\n" //
+                        + "}\n" //
+                        + "function g(n) { return n > 0 ? (function h(m) { return m + 1; })(n) : 0; }\n" //
+                        + "function never() { function inner() {} return inner; }\n" //
+                        + "[f1(), g(1), never.name].join();"));
+        assertEquals("6", eval("function sum(n) { return n === 0 ? 0 : n + sum(n - 1); }\n" //
+                        + "String(sum(3));"));
+        assertEquals("7", eval("function withEval(a) { return (function() { return eval('a + 2'); })(); }\n" //
+                        + "String(withEval(5));"));
+    }
+
+    @Test
+    public void testStrictMode() {
+        assertEquals("undefined,ReferenceError,object", eval("'use strict';\n" //
+                        + "function thisValue() { return typeof this; }\n" //
+                        + "function assignUndeclared() { try { undeclared = 1; return 'none'; } catch (e) { return e.constructor.name; } }\n" //
+                        + "function nested() { return (function() { return typeof this; }).call({}); }\n" //
+                        + "[thisValue(), assignUndeclared(), nested()].join();"));
+        assertEquals("undefined,object,TypeError", eval("function strict() { 'use strict'; return typeof this; }\n" //
+                        + "function sloppy() { return typeof this; }\n" //
+                        + "function strictInner() { 'use strict'; return (function() { try { arguments.callee; return 'none'; } catch (e) { return e.constructor.name; } })(); }\n" //
+                        + "[strict(), sloppy(), strictInner()].join();"));
+    }
+
+    @Test
+    public void testClasses() {
+        assertEquals("a1,b2,B,3", eval("var prefix = 'b';\n" //
+                        + "class A {\n" //
+                        + "  constructor(x) { this.x = x; }\n" //
+                        + "  name() { return 'a' + this.x; }\n" //
+                        + "  static create(x) { return new this(x); }\n" //
+                        + "}\n" //
+                        + "class B extends A {\n" //
+                        + "  name() { return (function() { return prefix; })() + (() => this.x)(); }\n" //
+                        + "  get kind() { return 'B'; }\n" //
+                        + "  sum() { let total = 0; [1, 2].forEach(function(v) { total += v; }); return total; }\n" //
+                        + "}\n" //
+                        + "[A.create(1).name(), new B(2).name(), new B(0).kind, B.create(0).sum()].join();"));
+    }
+
+    @Test
+    public void testDefaultParameters() {
+        assertEquals("3,5,11,2,1", eval("var outer = 10;\n" //
+                        + "function f(a, b = a + 2) { return b; }\n" //
+                        + "function g(a = outer) { return a + 1; }\n" //
+                        + "function h(a, get = () => a) { a = 2; return get(); }\n" //
+                        + "function len(a, b = 1, c) { return len.length; }\n" //
+                        + "[f(1), f(1, 5), g(), h(1), len()].join();"));
+        assertEquals("x,1", eval("function named(a = function() { return 'x'; }, n = arguments.length) { return [a(), n]; }\n" //
+                        + "named(undefined).join();"));
+    }
+
+    @Test
+    public void testArrowsInMethods() {
+        // super, new.target, this and arguments of the enclosing non-arrow function
+        assertEquals("AB!,sA,true,2,number,proto", eval("class A {\n" //
+                        + "  m() { return 'A'; }\n" //
+                        + "  static s() { return 'sA'; }\n" //
+                        + "}\n" //
+                        + "class B extends A {\n" //
+                        + "  constructor() {\n" //
+                        + "    const target = () => () => new.target === B;\n" //
+                        + "    super();\n" //
+                        + "    this.nt = target()();\n" //
+                        + "    this.args = (() => (() => arguments.length)())();\n" //
+                        + "  }\n" //
+                        + "  m() { return (() => (() => super.m() + 'B' + this.tag)())(); }\n" //
+                        + "  static s() { return (() => super.s())(); }\n" //
+                        + "  get tag() { return '!'; }\n" //
+                        + "  m2() { return function() { return (() => typeof this)(); }.call(5); }\n" //
+                        + "}\n" //
+                        + "var o = { __proto__: { hi() { return 'proto'; } }, hi() { return (() => super.hi())(); } };\n" //
+                        + "var b = new B(1, 2);\n" //
+                        + "[b.m(), B.s(), b.nt, b.args, b.m2(), o.hi()].join();"));
+    }
+
+    @Test
+    public void testClassFieldsInArrows() {
+        // the fields are initialized by the arrow that calls super()
+        Context.Builder builder = Context.newBuilder(JavaScriptLanguage.ID).allowExperimentalOptions(true).option(JSContextOptions.CLASS_FIELDS_NAME, "true");
+        assertEquals("1,2", eval(builder, "class A {}\n" //
+                        + "class C extends A {\n" //
+                        + "  x = 1;\n" //
+                        + "  #p = 2;\n" //
+                        + "  constructor() { const init = () => super(); init(); }\n" //
+                        + "  get p() { return (() => (() => this.#p)())(); }\n" //
+                        + "}\n" //
+                        + "var c = new C();\n" //
+                        + "[c.x, c.p].join();"));
+    }
+
+    @Test
+    public void testWithAndEvalInNestedBlocks() {
+        assertEquals("xyzw,pq,5,0/11", eval("function f(o) {\n" //
+                        + "  var x = 'x';\n" //
+                        + "  {\n" //
+                        + "    let y = 'y';\n" //
+                        + "    with (o) {\n" //
+                        + "      return (function() { { let z = 'z'; return eval('x + y + z + w'); } })();\n" //
+                        + "    }\n" //
+                        + "  }\n" //
+                        + "}\n" //
+                        + "function g(o) { with (o) { { let q = 'q'; return function() { { return p + q; } }; } } }\n" //
+                        + "function h() { { eval('var v = 5'); } return (function() { { return (() => v)(); } })(); }\n" //
+                        + "function k() {\n" //
+                        + "  var r = [];\n" //
+                        + "  for (let i = 0; i < 2; i++) { { let j = i * 10; r.push(() => eval('i + j')); } }\n" //
+                        + "  return r.map(fn => fn()).join('/');\n" //
+                        + "}\n" //
+                        + "[f({w: 'w'}), g({p: 'p'})(), h(), k()].join();"));
+    }
+}
@@ -169,6 +169,7 @@ import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.truffleinterop.JSInteropUtil;
 import com.oracle.truffle.js.runtime.util.Pair;
+import com.oracle.truffle.js.runtime.util.PresizedStringBuilder;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
 
@@ -958,6 +959,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final ConditionProfile sizeIsZero = ConditionProfile.createBinaryProfile();
         private final ConditionProfile offsetProfile1 = ConditionProfile.createBinaryProfile();
         private final ConditionProfile offsetProfile2 = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile sameTypedArrayTypeProfile = ConditionProfile.createBinaryProfile();
 
         @Specialization
         protected Object slice(Object thisObj, Object[] args,
@@ -976,7 +978,11 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             long size = startPos <= endPos ? endPos - startPos : 0;
             Object resultArray = getArraySpeciesConstructorNode().createEmptyContainer(thisArrayObj, size);
             if (sizeIsZero.profile(size > 0)) {
-                forEachIndexCall(thisArrayObj, null, startPos, startPos, endPos, resultArray);
+                if (isTypedArrayImplementation && sameTypedArrayTypeProfile.profile(isSameTypedArrayType(thisArrayObj, resultArray))) {
+                    copyTypedArrayBytes((DynamicObject) thisArrayObj, (DynamicObject) resultArray, (int) startPos, (int) size);
+                } else {
+                    forEachIndexCall(thisArrayObj, null, startPos, startPos, endPos, resultArray);
+                }
             }
             if (!isTypedArrayImplementation) {
                 setLength(resultArray, size);
@@ -984,6 +990,32 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return resultArray;
         }
 
+        /**
+         * Source and result have the same element type and distinct buffers, so the elements can be
+         * copied as raw bytes (ES2020 22.2.3.24 step 14).
+         */
+        private static boolean isSameTypedArrayType(Object source, Object result) {
+            if (!JSArrayBufferView.isJSArrayBufferView(source) || !JSArrayBufferView.isJSArrayBufferView(result)) {
+                return false;
+            }
+            DynamicObject sourceView = (DynamicObject) source;
+            DynamicObject resultView = (DynamicObject) result;
+            return JSArrayBufferView.typedArrayGetArrayType(sourceView).getFactory() == JSArrayBufferView.typedArrayGetArrayType(resultView).getFactory() &&
+                            JSArrayBufferView.getArrayBuffer(sourceView) != JSArrayBufferView.getArrayBuffer(resultView);
+        }
+
+        private void copyTypedArrayBytes(DynamicObject source, DynamicObject result, int start, int count) {
+            if (JSArrayBufferView.hasDetachedBuffer(source, getContext())) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            TypedArray sourceType = JSArrayBufferView.typedArrayGetArrayType(source);
+            TypedArray resultType = JSArrayBufferView.typedArrayGetArrayType(result);
+            int elementSize = sourceType.bytesPerElement();
+            int sourceByteIndex = JSArrayBufferView.typedArrayGetOffset(source) + start * elementSize;
+            int resultByteIndex = JSArrayBufferView.typedArrayGetOffset(result);
+            TypedArray.copyBytes(sourceType.getBufferFromTypedArray(source, true), sourceByteIndex, resultType.getBufferFromTypedArray(result, true), resultByteIndex, count * elementSize);
+        }
+
         @Override
         protected MaybeResultNode makeMaybeResultNode() {
             return new ForEachIndexCallNode.MaybeResultNode() {
@@ -1502,7 +1534,10 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
         private final ConditionProfile isOne = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isTwo = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isSparse = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile isDense = ConditionProfile.createBinaryProfile();
         private final BranchProfile growProfile = BranchProfile.create();
+        private final BranchProfile notStringOrIntBranch = BranchProfile.create();
+        private final ValueProfile arrayTypeProfile = ValueProfile.createClassProfile();
         private final StringBuilderProfile stringBuilderProfile;
 
         public JSArrayJoinNode(JSContext context, JSBuiltin builtin, boolean isTypedArrayImplementation) {
@@ -1528,6 +1563,12 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                 } else if (isSparse.profile(JSArray.isJSArray(thisJSObject) && arrayGetArrayType((DynamicObject) thisJSObject) instanceof SparseArray)) {
                     return joinSparse(thisJSObject, length, joinSeparator, appendSep);
                 } else {
+                    if (isDense.profile(JSArray.isJSArray(thisJSObject) && !arrayGetArrayType((DynamicObject) thisJSObject).isHolesType())) {
+                        String result = joinDense((DynamicObject) thisJSObject, length, joinSeparator, appendSep);
+                        if (result != null) {
+                            return result;
+                        }
+                    }
                     return joinLoop(thisJSObject, length, joinSeparator, appendSep);
                 }
             }
@@ -1585,6 +1626,44 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             return stringBuilderProfile.toString(res);
         }
 
+        /**
+         * Joins an array without holes whose elements are all strings or integers. The first pass
+         * computes the exact length of the result, the second one copies the elements (integers
+         * as digits) into a single buffer. Returns {@code null} if any element is of another type.
+         */
+        private String joinDense(DynamicObject thisArray, long length, String joinSeparator, boolean appendSep) {
+            ScriptArray array = arrayTypeProfile.profile(arrayGetArrayType(thisArray));
+            long resultLength = appendSep ? (length - 1) * joinSeparator.length() : 0;
+            for (long i = 0; i < length; i++) {
+                Object value = array.getElement(thisArray, i);
+                if (value instanceof String) {
+                    resultLength += ((String) value).length();
+                } else if (value instanceof Integer) {
+                    resultLength += PresizedStringBuilder.stringLength((int) value);
+                } else {
+                    notStringOrIntBranch.enter();
+                    return null;
+                }
+            }
+            if (resultLength > getContext().getStringLengthLimit()) {
+                CompilerDirectives.transferToInterpreter();
+                throw Errors.createRangeErrorInvalidStringLength();
+            }
+            PresizedStringBuilder res = new PresizedStringBuilder((int) resultLength);
+            for (long i = 0; i < length; i++) {
+                if (appendSep && i != 0) {
+                    res.append(joinSeparator);
+                }
+                Object value = array.getElement(thisArray, i);
+                if (value instanceof String) {
+                    res.append((String) value);
+                } else {
+                    res.append((int) value);
+                }
+            }
+            return res.toString();
+        }
+
         private String toStringOrEmpty(Object thisObject, Object value) {
             if (isValidEntry(thisObject, value)) {
                 return elementToStringNode.executeString(value);
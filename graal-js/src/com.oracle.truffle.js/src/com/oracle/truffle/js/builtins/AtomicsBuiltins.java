@@ -65,9 +65,13 @@ import com.oracle.truffle.js.nodes.cast.JSToIntegerSpecialNode;
 import com.oracle.truffle.js.nodes.cast.JSToNumberNode;
 import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.nodes.promise.NewPromiseCapabilityNode;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSAgent;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.WaiterRecord;
+import com.oracle.truffle.js.runtime.JSCancelledExecutionException;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRealm;
@@ -79,7 +83,11 @@ import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
 /**
@@ -108,7 +116,10 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         isLockFree(1),
 
         // ES9?
-        notify(3);
+        notify(3),
+
+        // ES2021
+        waitAsync(4);
 
         private final int length;
 
@@ -125,6 +136,8 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         public int getECMAScriptVersion() {
             if (this.equals(notify)) {
                 return JSTruffleOptions.ECMAScript2019;
+            } else if (this.equals(waitAsync)) {
+                return JSTruffleOptions.ECMAScript2021;
             }
             return JSTruffleOptions.ECMAScript2017;
         }
@@ -156,7 +169,9 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
             case notify:
                 return AtomicsWakeNodeGen.create(context, builtin, args().fixedArgs(3).createArgumentNodes(context));
             case wait:
-                return AtomicsWaitNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context));
+                return AtomicsWaitNodeGen.create(context, builtin, false, args().fixedArgs(4).createArgumentNodes(context));
+            case waitAsync:
+                return AtomicsWaitNodeGen.create(context, builtin, true, args().fixedArgs(4).createArgumentNodes(context));
             case isLockFree:
                 return AtomicsIsLockFreeNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
         }
@@ -815,7 +830,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
 
             SharedMemorySync.enterCriticalSection(getContext(), wl);
             try {
-                int[] waiters = SharedMemorySync.removeWaiters(getContext(), wl, c);
+                WaiterRecord[] waiters = SharedMemorySync.removeWaiters(getContext(), wl, c);
                 int n;
                 for (n = 0; n < waiters.length; n++) {
                     SharedMemorySync.wakeWaiter(getContext(), waiters[n]);
@@ -828,7 +843,7 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
     }
 
     /**
-     * Thread Sleep.
+     * Thread Sleep ({@code Atomics.wait}) and asynchronous waiting ({@code Atomics.waitAsync}).
      */
     public abstract static class AtomicsWaitNode extends AtomicsOperationNode {
 
@@ -836,11 +851,15 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
         private static final String NOT_EQUAL = "not-equal";
         private static final String TIMED_OUT = "timed-out";
 
+        private final boolean waitAsync;
+
         @Child private JSToBigIntNode toBigIntNode;
         @Child private JSToInt32Node toInt32Node;
+        @Child private NewPromiseCapabilityNode newPromiseCapabilityNode;
 
-        public AtomicsWaitNode(JSContext context, JSBuiltin builtin) {
+        public AtomicsWaitNode(JSContext context, JSBuiltin builtin, boolean waitAsync) {
             super(context, builtin);
+            this.waitAsync = waitAsync;
         }
 
         protected AtomicsLoadNode createHelperNode() {
@@ -860,15 +879,16 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
 
             boolean isInt32 = isInt32SharedBufferView(maybeTarget);
             long v = isInt32 ? toInt32(value) : toBigInt(value).longValue();
-            int t = Integer.MAX_VALUE;
-            Number tmp = timeToInt32Node.executeNumber(timeout);
-            if (!JSRuntime.isNaN(tmp)) {
-                t = Integer.max(tmp.intValue(), 0);
+            double t = Double.POSITIVE_INFINITY;
+            double tmp = JSRuntime.doubleValue(timeToInt32Node.executeNumber(timeout));
+            if (!Double.isNaN(tmp)) {
+                t = Math.max(tmp, 0);
             }
 
-            if (!SharedMemorySync.agentCanSuspend(getContext())) {
+            if (!waitAsync && !SharedMemorySync.agentCanSuspend(getContext())) {
                 throw createTypeErrorUnsupported();
             }
+            JSAgent agent = getContext().getJSAgent();
             JSAgentWaiterListEntry wl = SharedMemorySync.getWaiterList(getContext(), target, i);
             SharedMemorySync.enterCriticalSection(getContext(), wl);
             try {
@@ -876,19 +896,29 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
                 boolean isNotEqual = isInt32 ? !(w instanceof Integer) || (int) w != (int) v
                                 : !(w instanceof BigInt) || ((BigInt) w).longValue() != v;
                 if (isNotEqual) {
-                    return NOT_EQUAL;
+                    return waitAsync ? createResultObject(false, NOT_EQUAL) : NOT_EQUAL;
                 }
-                int id = getContext().getJSAgent().getSignifier();
-                SharedMemorySync.addWaiter(getContext(), wl, id);
-                if (t < 0) {
-                    return TIMED_OUT;
+                if (waitAsync) {
+                    if (t == 0) {
+                        return createResultObject(false, TIMED_OUT);
+                    }
+                    PromiseCapabilityRecord promiseCapability = newPromiseCapability();
+                    WaiterRecord waiter = WaiterRecord.createAsync(agent, wl, t, promiseCapability);
+                    SharedMemorySync.addWaiter(getContext(), wl, waiter);
+                    getContext().enqueueAsyncWaiter(agent, waiter);
+                    return createResultObject(true, promiseCapability.getPromise());
                 }
-                boolean awoken = SharedMemorySync.suspendAgent(getContext(), wl, id, t);
+                WaiterRecord waiter = WaiterRecord.createSync(agent, wl, t);
+                SharedMemorySync.addWaiter(getContext(), wl, waiter);
+                boolean awoken = SharedMemorySync.suspendAgent(getContext(), wl, waiter);
                 if (awoken) {
-                    assert !wl.contains(id);
+                    assert !wl.contains(waiter);
                     return OK;
                 } else {
-                    SharedMemorySync.removeWaiter(getContext(), wl, id);
+                    SharedMemorySync.removeWaiter(getContext(), wl, waiter);
+                    if (SharedMemorySync.clearInterrupted()) {
+                        throw new JSCancelledExecutionException("Thread was interrupted.", this);
+                    }
                     return TIMED_OUT;
                 }
             } finally {
@@ -896,6 +926,22 @@ public final class AtomicsBuiltins extends JSBuiltinsContainer.SwitchEnum<Atomic
             }
         }
 
+        private PromiseCapabilityRecord newPromiseCapability() {
+            if (newPromiseCapabilityNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                newPromiseCapabilityNode = insert(NewPromiseCapabilityNode.create(getContext()));
+            }
+            return newPromiseCapabilityNode.executeDefault();
+        }
+
+        @TruffleBoundary
+        private DynamicObject createResultObject(boolean isAsync, Object value) {
+            DynamicObject resultObject = JSUserObject.create(getContext());
+            JSObjectUtil.putDataProperty(getContext(), resultObject, "async", isAsync, JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(getContext(), resultObject, "value", value, JSAttributes.getDefault());
+            return resultObject;
+        }
+
         private int toInt32(Object v) {
             if (toInt32Node == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
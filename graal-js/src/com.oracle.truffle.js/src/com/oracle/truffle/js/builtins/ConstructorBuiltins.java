@@ -200,10 +200,13 @@ import com.oracle.truffle.js.runtime.builtins.JSWeakRef;
 import com.oracle.truffle.js.runtime.java.JavaImporter;
 import com.oracle.truffle.js.runtime.java.JavaPackage;
 import com.oracle.truffle.js.runtime.objects.IteratorRecord;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.WeakMap;
@@ -1673,7 +1676,18 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
             if (maybeBuffer instanceof ByteBuffer) {
                 ByteBuffer byteBuffer = (ByteBuffer) maybeBuffer;
                 if (isDirect.profile(byteBuffer.isDirect())) {
+                    if (!DirectByteBufferHelper.isDirectByteBuffer(byteBuffer)) {
+                        // e.g. a read-only MappedByteBuffer
+                        errorBranch.enter();
+                        throw Errors.createTypeError("Read-only direct buffers are not supported");
+                    }
+                    if (useShared) {
+                        return swapPrototype(JSSharedArrayBuffer.createSharedArrayBuffer(getContext(), byteBuffer), newTarget);
+                    }
                     return swapPrototype(JSArrayBuffer.createDirectArrayBuffer(getContext(), byteBuffer), newTarget);
+                } else if (useShared) {
+                    errorBranch.enter();
+                    throw Errors.createTypeError("SharedArrayBuffer requires a direct buffer");
                 } else {
                     return swapPrototype(JSArrayBuffer.createArrayBuffer(getContext(), byteBuffer.array()), newTarget);
                 }
@@ -1872,7 +1886,7 @@ public final class ConstructorBuiltins extends JSBuiltinsContainer.SwitchEnum<Co
         @Specialization
         protected DynamicObject constructJSProxy(DynamicObject newTarget, Object target, Object handler) {
             if (targetNonObject.profile(!JSGuards.isTruffleObject(target) || target instanceof Symbol || target == Undefined.instance || target == Null.instance || target instanceof JSLazyString ||
-                            target instanceof LargeInteger || target instanceof BigInt)) {
+                            target instanceof JSExternalString || target instanceof JSSlicedString || target instanceof LargeInteger || target instanceof BigInt)) {
                 throw Errors.createTypeError("target expected to be an object");
             }
             if (handlerNonObject.profile(!JSGuards.isJSObject(handler))) {
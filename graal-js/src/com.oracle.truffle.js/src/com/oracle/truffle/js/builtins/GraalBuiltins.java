@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalMapFileNodeGen;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
+
+/**
+ * Functions of the non-standard {@code Graal} object.
+ */
+public final class GraalBuiltins extends JSBuiltinsContainer.Lambda {
+
+    public static final JSBuiltinsContainer BUILTINS = new GraalBuiltins();
+
+    protected GraalBuiltins() {
+        super(JSRealm.GRAAL_CLASS_NAME);
+        defineFunction("mapFile", 2, JSAttributes.notConfigurableEnumerableNotWritable(),
+                        (context, builtin) -> GraalMapFileNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context)));
+    }
+
+    /**
+     * Non-standard {@code Graal.mapFile(path, options)} that creates an {@code ArrayBuffer} (or a
+     * {@code SharedArrayBuffer} if {@code options.shared} is true) over a memory-mapped region of a
+     * local file. The region starts at {@code options.offset} (default: 0) and spans
+     * {@code options.length} bytes (default: up to the end of the file); it must lie within the
+     * file.
+     *
+     * {@code options.mode} selects how the file is mapped:
+     * <ul>
+     * <li>{@code "private"} (default): the file is mapped copy-on-write; changes to the buffer are
+     * private to this process. The JDK requires the file to be opened for writing in this mode.</li>
+     * <li>{@code "readonly"}: the file is opened for reading only. Since array buffers are always
+     * writable, the mapped region is copied into a new (off-heap) buffer.</li>
+     * <li>{@code "readwrite"}: stores to the buffer are written back to the file.</li>
+     * </ul>
+     */
+    public abstract static class GraalMapFileNode extends JSBuiltinNode {
+
+        private static final String MODE_READ_ONLY = "readonly";
+        private static final String MODE_PRIVATE = "private";
+        private static final String MODE_READ_WRITE = "readwrite";
+
+        public GraalMapFileNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        protected final DynamicObject mapFile(Object fileParam, Object options) {
+            TruffleFile file = GlobalBuiltins.getFileFromArgument(fileParam, getContext().getRealm().getEnv());
+            String mode = MODE_PRIVATE;
+            boolean shared = false;
+            long offset = 0;
+            Object length = Undefined.instance;
+            if (JSObject.isJSObject(options)) {
+                DynamicObject optionsObj = (DynamicObject) options;
+                Object modeValue = JSObject.get(optionsObj, "mode");
+                if (modeValue != Undefined.instance) {
+                    mode = JSRuntime.toString(modeValue);
+                }
+                shared = JSRuntime.toBoolean(JSObject.get(optionsObj, "shared"));
+                offset = JSRuntime.toInteger(JSObject.get(optionsObj, "offset"));
+                length = JSObject.get(optionsObj, "length");
+            }
+            FileChannel.MapMode mapMode;
+            if (MODE_READ_ONLY.equals(mode)) {
+                mapMode = FileChannel.MapMode.READ_ONLY;
+            } else if (MODE_PRIVATE.equals(mode)) {
+                mapMode = FileChannel.MapMode.PRIVATE;
+            } else if (MODE_READ_WRITE.equals(mode)) {
+                mapMode = FileChannel.MapMode.READ_WRITE;
+            } else {
+                throw Errors.createTypeError("Invalid mode: " + mode);
+            }
+            if (shared && !getContext().isOptionSharedArrayBuffer()) {
+                throw Errors.createTypeError("SharedArrayBuffer is not enabled");
+            }
+
+            try {
+                long fileSize = file.size();
+                long byteLength = length == Undefined.instance ? fileSize - offset : JSRuntime.toInteger(length);
+                // FileChannel.map() would extend the file to cover the region
+                if (offset < 0 || offset > fileSize || byteLength < 0 || byteLength > fileSize - offset) {
+                    throw Errors.createRangeError("Invalid file region");
+                }
+                if (byteLength > JSTruffleOptions.MaxTypedArrayLength) {
+                    throw Errors.createRangeError("Array buffer allocation failed");
+                }
+
+                ByteBuffer buffer;
+                boolean readOnly = mapMode == FileChannel.MapMode.READ_ONLY;
+                EnumSet<StandardOpenOption> openOptions = readOnly ? EnumSet.of(StandardOpenOption.READ) : EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE);
+                try (SeekableByteChannel channel = file.newByteChannel(openOptions)) {
+                    if (!(channel instanceof FileChannel)) {
+                        throw Errors.createError("File system does not support memory-mapped files");
+                    }
+                    ByteBuffer mapped = ((FileChannel) channel).map(mapMode, offset, byteLength);
+                    if (readOnly) {
+                        // direct array buffers must be writable, so a read-only mapping is copied
+                        buffer = DirectByteBufferHelper.allocateDirect((int) byteLength);
+                        buffer.put(mapped);
+                        buffer.clear();
+                    } else {
+                        buffer = mapped;
+                    }
+                    buffer.order(ByteOrder.nativeOrder());
+                }
+                assert DirectByteBufferHelper.isDirectByteBuffer(buffer);
+
+                if (shared) {
+                    return JSSharedArrayBuffer.createSharedArrayBuffer(getContext(), buffer);
+                } else {
+                    return JSArrayBuffer.createDirectArrayBuffer(getContext(), buffer);
+                }
+            } catch (IOException | SecurityException | UnsupportedOperationException ex) {
+                throw Errors.createErrorFromException(ex);
+            }
+        }
+    }
+}
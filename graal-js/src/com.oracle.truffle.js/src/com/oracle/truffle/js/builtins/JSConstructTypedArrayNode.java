@@ -45,6 +45,7 @@ import java.util.NoSuchElementException;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -71,6 +72,7 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.nodes.interop.JSForeignToJSTypeNode;
+import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
@@ -89,6 +91,7 @@ import com.oracle.truffle.js.runtime.objects.IteratorRecord;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.truffleinterop.JSInteropUtil;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 
 /**
@@ -191,7 +194,7 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
         checkDetachedBuffer(arrayBuffer);
         byte[] byteArray = JSArrayBuffer.getByteArray(arrayBuffer);
         int arrayBufferLength = byteArray.length;
-        return doArrayBufferImpl(arrayBuffer, byteOffset0, length0, newTarget, arrayBufferLength, false, lengthIsUndefined);
+        return doArrayBufferImpl(arrayBuffer, byteOffset0, length0, newTarget, 0, arrayBufferLength, false, lengthIsUndefined);
     }
 
     @Specialization(guards = {"isJSFunction(newTarget)", "isJSDirectArrayBuffer(arrayBuffer)"})
@@ -200,10 +203,15 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
         checkDetachedBuffer(arrayBuffer);
         ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
         int arrayBufferLength = byteBuffer.limit();
-        return doArrayBufferImpl(arrayBuffer, byteOffset0, length0, newTarget, arrayBufferLength, true, lengthIsUndefined);
+        return doArrayBufferImpl(arrayBuffer, byteOffset0, length0, newTarget, 0, arrayBufferLength, true, lengthIsUndefined);
     }
 
-    private DynamicObject doArrayBufferImpl(DynamicObject arrayBuffer, Object byteOffset0, Object length0, DynamicObject newTarget, int bufferByteLength, boolean direct,
+    /**
+     * @param bufferOffset start of the viewable region of the buffer; {@code byteOffset0} is
+     *            relative to it
+     * @param bufferByteLength byte length of the viewable region of the buffer
+     */
+    private DynamicObject doArrayBufferImpl(DynamicObject arrayBuffer, Object byteOffset0, Object length0, DynamicObject newTarget, int bufferOffset, int bufferByteLength, boolean direct,
                     ConditionProfile lengthIsUndefinedProfile) {
         final int elementSize = factory.getBytesPerElement();
 
@@ -229,8 +237,49 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
         rangeCheck(byteOffset + byteLength <= bufferByteLength, "length exceeds buffer bounds");
 
         assert byteOffset <= Integer.MAX_VALUE && length <= Integer.MAX_VALUE;
-        TypedArray typedArray = factory.createArrayType(direct, byteOffset != 0);
-        return createTypedArray(arrayBuffer, typedArray, (int) byteOffset, (int) length, newTarget);
+        int offset = bufferOffset + (int) byteOffset;
+        TypedArray typedArray = factory.createArrayType(direct, offset != 0);
+        return createTypedArray(arrayBuffer, typedArray, offset, (int) length, newTarget);
+    }
+
+    /**
+     * TypedArray(ByteBuffer buffer, optional unsigned long byteOffset, optional unsigned long
+     * length).
+     *
+     * Create a new TypedArray object that uses the remaining bytes (from position to limit) of a
+     * host {@link ByteBuffer} as its storage, without copying. Writes through the TypedArray are
+     * visible in the ByteBuffer and vice versa. Elements are accessed in native byte order,
+     * regardless of the order of the ByteBuffer. Read-only buffers are not supported. The
+     * ArrayBuffer of a view of a heap buffer is the whole backing array of the buffer, with the
+     * view starting at {@code arrayOffset() + position()}.
+     */
+    @Specialization(guards = {"isJSFunction(newTarget)", "isHostByteBuffer(object)"})
+    protected DynamicObject doHostByteBuffer(DynamicObject newTarget, Object object, Object byteOffset0, Object length0,
+                    @Cached("createBinaryProfile()") ConditionProfile isDirect,
+                    @Cached("createBinaryProfile()") ConditionProfile lengthIsUndefined) {
+        ByteBuffer byteBuffer = (ByteBuffer) getContext().getRealm().getEnv().asHostObject(object);
+        if (isDirect.profile(byteBuffer.isDirect())) {
+            if (!DirectByteBufferHelper.isDirectByteBuffer(byteBuffer)) {
+                errorBranch.enter();
+                throw Errors.createTypeError("Read-only direct buffers are not supported");
+            }
+            ByteBuffer slice = Boundaries.byteBufferSlice(byteBuffer);
+            DynamicObject arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(getContext(), slice);
+            return doArrayBufferImpl(arrayBuffer, byteOffset0, length0, newTarget, 0, slice.limit(), true, lengthIsUndefined);
+        } else {
+            if (!byteBuffer.hasArray()) {
+                errorBranch.enter();
+                throw Errors.createTypeError("Read-only buffers are not supported");
+            }
+            DynamicObject arrayBuffer = JSArrayBuffer.createArrayBuffer(getContext(), byteBuffer.array());
+            int bufferOffset = byteBuffer.arrayOffset() + byteBuffer.position();
+            return doArrayBufferImpl(arrayBuffer, byteOffset0, length0, newTarget, bufferOffset, byteBuffer.remaining(), false, lengthIsUndefined);
+        }
+    }
+
+    protected final boolean isHostByteBuffer(Object object) {
+        TruffleLanguage.Env env = getContext().getRealm().getEnv();
+        return env.isHostObject(object) && env.asHostObject(object) instanceof ByteBuffer;
     }
 
     /**
@@ -413,7 +462,7 @@ public abstract class JSConstructTypedArrayNode extends JSBuiltinNode {
         return values;
     }
 
-    @Specialization(guards = {"isJSFunction(newTarget)", "isForeignObject(object)"}, limit = "3")
+    @Specialization(guards = {"isJSFunction(newTarget)", "isForeignObject(object)", "!isHostByteBuffer(object)"}, limit = "3")
     protected DynamicObject doForeignObject(DynamicObject newTarget, Object object, @SuppressWarnings("unused") Object byteOffset0, @SuppressWarnings("unused") Object length0,
                     @CachedLibrary("object") InteropLibrary interop,
                     @Cached("createWriteOwn()") WriteElementNode writeOwnNode,
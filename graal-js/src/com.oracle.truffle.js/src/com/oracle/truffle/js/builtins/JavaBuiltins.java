@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.util.Arrays;
 import java.util.List;
 
 import com.oracle.truffle.api.CallTarget;
@@ -413,6 +414,10 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
         protected DynamicObject from(Object javaArray) {
             TruffleLanguage.Env env = getContext().getRealm().getEnv();
             if (env.isHostObject(javaArray)) {
+                DynamicObject primitiveCopy = fromPrimitiveArray(getContext(), env.asHostObject(javaArray));
+                if (primitiveCopy != null) {
+                    return primitiveCopy;
+                }
                 try {
                     long size = interop.getArraySize(javaArray);
                     if (size < 0 || size >= Integer.MAX_VALUE) {
@@ -440,6 +445,43 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             throw Errors.createTypeError("Cannot convert to JavaScript array.");
         }
 
+        /**
+         * Copies numeric Java arrays directly into int or double array storage instead of reading
+         * them element by element through interop.
+         */
+        @TruffleBoundary
+        private static DynamicObject fromPrimitiveArray(JSContext context, Object hostObject) {
+            if (hostObject instanceof int[]) {
+                int[] array = (int[]) hostObject;
+                return JSArray.createConstantIntArray(context, Arrays.copyOf(array, array.length));
+            } else if (hostObject instanceof double[]) {
+                double[] array = (double[]) hostObject;
+                return JSArray.createConstantDoubleArray(context, Arrays.copyOf(array, array.length));
+            } else if (hostObject instanceof byte[]) {
+                byte[] array = (byte[]) hostObject;
+                int[] ints = new int[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    ints[i] = array[i];
+                }
+                return JSArray.createConstantIntArray(context, ints);
+            } else if (hostObject instanceof short[]) {
+                short[] array = (short[]) hostObject;
+                int[] ints = new int[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    ints[i] = array[i];
+                }
+                return JSArray.createConstantIntArray(context, ints);
+            } else if (hostObject instanceof float[]) {
+                float[] array = (float[]) hostObject;
+                double[] doubles = new double[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    doubles[i] = array[i];
+                }
+                return JSArray.createConstantDoubleArray(context, doubles);
+            }
+            return null;
+        }
+
         private void fromList(List<?> javaList, int len, DynamicObject jsArrayObj) {
             objectListBranch.enter();
             for (int i = 0; i < len; i++) {
@@ -516,6 +558,10 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
             assert isJavaArrayClass(arrayType, env);
 
             Object[] arr = toObjectArrayNode.executeObjectArray(jsObj);
+            Object primitiveArray = toPrimitiveArray(arr, (Class<?>) env.asHostObject(arrayType));
+            if (primitiveArray != null) {
+                return env.asGuestValue(primitiveArray);
+            }
             try {
                 Object result = newArray.instantiate(arrayType, arr.length);
                 for (int i = 0; i < arr.length; i++) {
@@ -526,6 +572,48 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
                 throw Errors.createTypeError(Boundaries.javaToString(e));
             }
         }
+
+        /**
+         * Fills int, long and double Java arrays directly if every element is a number that
+         * converts to the component type without loss; returns {@code null} otherwise, leaving the
+         * conversion (and its error reporting) to interop.
+         */
+        @TruffleBoundary
+        private static Object toPrimitiveArray(Object[] arr, Class<?> arrayClass) {
+            Class<?> componentType = arrayClass.getComponentType();
+            if (componentType == int.class) {
+                int[] result = new int[arr.length];
+                for (int i = 0; i < arr.length; i++) {
+                    if (!(arr[i] instanceof Integer)) {
+                        return null;
+                    }
+                    result[i] = (int) arr[i];
+                }
+                return result;
+            } else if (componentType == long.class) {
+                long[] result = new long[arr.length];
+                for (int i = 0; i < arr.length; i++) {
+                    if (!(arr[i] instanceof Integer)) {
+                        return null;
+                    }
+                    result[i] = (int) arr[i];
+                }
+                return result;
+            } else if (componentType == double.class) {
+                double[] result = new double[arr.length];
+                for (int i = 0; i < arr.length; i++) {
+                    if (arr[i] instanceof Integer) {
+                        result[i] = (int) arr[i];
+                    } else if (arr[i] instanceof Double) {
+                        result[i] = (double) arr[i];
+                    } else {
+                        return null;
+                    }
+                }
+                return result;
+            }
+            return null;
+        }
     }
 
     abstract static class JavaSuperNode extends JSBuiltinNode {
@@ -65,6 +65,7 @@ import com.oracle.truffle.js.builtins.RegExpPrototypeBuiltinsFactory.JSRegExpSea
 import com.oracle.truffle.js.builtins.RegExpPrototypeBuiltinsFactory.JSRegExpSplitNodeGen;
 import com.oracle.truffle.js.builtins.RegExpPrototypeBuiltinsFactory.JSRegExpTestNodeGen;
 import com.oracle.truffle.js.builtins.RegExpPrototypeBuiltinsFactory.JSRegExpToStringNodeGen;
+import com.oracle.truffle.js.builtins.RegExpPrototypeBuiltinsFactory.LiteralPatternNodeGen;
 import com.oracle.truffle.js.builtins.RegExpPrototypeBuiltinsFactory.RegExpFlagsGetterNodeGen;
 import com.oracle.truffle.js.builtins.helper.IsPristineObjectNode;
 import com.oracle.truffle.js.builtins.helper.JSRegExpExecIntlNode;
@@ -72,6 +73,7 @@ import com.oracle.truffle.js.builtins.helper.JSRegExpExecIntlNode.JSRegExpExecBu
 import com.oracle.truffle.js.builtins.helper.ReplaceStringParser;
 import com.oracle.truffle.js.nodes.CompileRegexNode;
 import com.oracle.truffle.js.nodes.JSGuards;
+import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.JavaScriptNode;
 import com.oracle.truffle.js.nodes.access.HasHiddenKeyCacheNode;
 import com.oracle.truffle.js.nodes.access.IsJSClassNode;
@@ -102,6 +104,7 @@ import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSRegExp;
+import com.oracle.truffle.js.runtime.joni.PatternAnalyzer;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
@@ -366,7 +369,7 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         protected Object test(DynamicObject thisObj, Object input,
                         @Cached("create()") @SuppressWarnings("unused") IsJSObjectNode isObjectNode,
                         @Cached("create()") JSToStringNode toStringNode,
-                        @Cached("create(getContext())") JSRegExpExecIntlNode regExpNode) {
+                        @Cached("createMatchOnly(getContext())") JSRegExpExecIntlNode regExpNode) {
             String inputStr = toStringNode.executeString(input);
             Object result = regExpNode.execute(thisObj, inputStr);
             if (getContext().getEcmaScriptVersion() >= 6) {
@@ -531,6 +534,38 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
     }
 
+    /**
+     * Returns the string matched by a compiled regex if its pattern is a plain literal (see
+     * {@link PatternAnalyzer#literalString}), or {@code null}. The result is cached per compiled
+     * regex.
+     */
+    abstract static class LiteralPatternNode extends JavaScriptBaseNode {
+        @Child private TRegexUtil.TRegexCompiledRegexAccessor compiledRegexAccessor = TRegexUtil.TRegexCompiledRegexAccessor.create();
+
+        abstract String execute(Object tRegexCompiledRegex);
+
+        @Specialization(guards = "tRegexCompiledRegex == cachedCompiledRegex", limit = "1")
+        String doCached(@SuppressWarnings("unused") Object tRegexCompiledRegex,
+                        @Cached("tRegexCompiledRegex") @SuppressWarnings("unused") Object cachedCompiledRegex,
+                        @Cached("getLiteralString(cachedCompiledRegex)") String cachedLiteral) {
+            return cachedLiteral;
+        }
+
+        @Specialization(replaces = "doCached")
+        String doUncached(Object tRegexCompiledRegex) {
+            return getLiteralString(tRegexCompiledRegex);
+        }
+
+        String getLiteralString(Object tRegexCompiledRegex) {
+            return literalString(compiledRegexAccessor.pattern(tRegexCompiledRegex));
+        }
+
+        @TruffleBoundary
+        private static String literalString(String pattern) {
+            return PatternAnalyzer.literalString(pattern);
+        }
+    }
+
     /**
      * This implements the RegExp.prototype.[@@split] method.
      */
@@ -549,6 +584,7 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         @Child private TRegexUtil.TRegexResultAccessor resultAccessor;
         @Child private IsPristineObjectNode isPristineObjectNode;
         @Child private IsJSClassNode isJSRegExpNode;
+        @Child private LiteralPatternNode literalPatternNode;
         private final ConditionProfile sizeZeroProfile = ConditionProfile.createBinaryProfile();
         private final ConditionProfile sameMatchEnd = ConditionProfile.createBinaryProfile();
         private final ConditionProfile resultIsNull = ConditionProfile.createBinaryProfile();
@@ -558,6 +594,7 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         private final ConditionProfile emptyFlags = ConditionProfile.createBinaryProfile();
         private final ConditionProfile stickyFlagSet = ConditionProfile.createBinaryProfile();
         private final ValueProfile compiledRegexProfile = ValueProfile.createIdentityProfile();
+        private final ConditionProfile literalPatternProfile = ConditionProfile.createBinaryProfile();
 
         JSRegExpSplitNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -681,6 +718,12 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             Object tRegexCompiledRegex = compiledRegexProfile.profile(JSRegExp.getCompiledRegexUnchecked(rx, isJSRegExp(rx)));
             Object tRegexFlags = compiledRegexAccessor.flags(tRegexCompiledRegex);
             boolean unicodeMatching = flagsAccessor.unicode(tRegexFlags);
+            if (!unicodeMatching && !flagsAccessor.ignoreCase(tRegexFlags)) {
+                String literal = getLiteralPatternNode().execute(tRegexCompiledRegex);
+                if (literalPatternProfile.profile(literal != null)) {
+                    return splitLiteral(rx, tRegexCompiledRegex, str, literal, lim);
+                }
+            }
             DynamicObject splitter;
             if (stickyFlagSet.profile(flagsAccessor.sticky(tRegexFlags))) {
                 DynamicObject regexpConstructor = getContext().getRealm().getRegExpConstructor();
@@ -745,6 +788,48 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             return array;
         }
 
+        /**
+         * Splits at the matches of a pattern that matches only the given (non-empty) string, using
+         * plain string search instead of the regex engine.
+         */
+        private DynamicObject splitLiteral(DynamicObject rx, Object tRegexCompiledRegex, String str, String literal, long lim) {
+            DynamicObject array = JSArray.createEmptyZeroLength(getContext());
+            int size = str.length();
+            int arrayLength = 0;
+            int prevMatchEnd = 0;
+            int matchStart = -1;
+            while (prevMatchEnd < size) {
+                int index = str.indexOf(literal, prevMatchEnd);
+                if (index < 0) {
+                    break;
+                }
+                matchStart = index;
+                write(array, arrayLength++, Boundaries.substring(str, prevMatchEnd, matchStart));
+                if (arrayLength == lim) {
+                    prematureReturnBranch.enter();
+                    return array;
+                }
+                prevMatchEnd = matchStart + literal.length();
+            }
+            if (getContext().isOptionRegexpStaticResult() && matchStart >= 0) {
+                Object lastRegexResult = null;
+                if (!getContext().getRegExpStaticResultUnusedAssumption().isValid()) {
+                    lastRegexResult = execIgnoreLastIndexNode.execute(rx, str, matchStart);
+                }
+                getContext().getRealm().setStaticRegexResult(getContext(), tRegexCompiledRegex, str, matchStart, lastRegexResult);
+            }
+            write(array, arrayLength, Boundaries.substring(str, prevMatchEnd, size));
+            return array;
+        }
+
+        private LiteralPatternNode getLiteralPatternNode() {
+            if (literalPatternNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                literalPatternNode = insert(LiteralPatternNodeGen.create());
+            }
+            return literalPatternNode;
+        }
+
         private String removeStickyFlag(Object tRegexFlags) {
             char[] flags = new char[5];
             int len = 0;
@@ -938,10 +1023,12 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                         @Cached("replaceValue") String cachedReplaceValue,
                         @Cached(value = "parseReplaceValueWithNCG(replaceValue)", dimensions = 1) ReplaceStringParser.Token[] cachedParsedReplaceValueWithNamedCG,
                         @Cached(value = "parseReplaceValueWithoutNCG(replaceValue)", dimensions = 1) ReplaceStringParser.Token[] cachedParsedReplaceValueWithoutNamedCG,
+                        @Cached("getLiteralReplacement(replaceValue, cachedParsedReplaceValueWithNamedCG, cachedParsedReplaceValueWithoutNamedCG)") String cachedLiteralReplacement,
                         @Cached("create()") JSToStringNode toString1Node) {
             checkObject(rx);
             if (isPristine(rx)) {
-                return replaceInternal(rx, toString1Node.executeString(searchString), cachedReplaceValue, cachedParsedReplaceValueWithNamedCG, cachedParsedReplaceValueWithoutNamedCG);
+                return replaceInternal(rx, toString1Node.executeString(searchString), cachedReplaceValue, cachedParsedReplaceValueWithNamedCG, cachedParsedReplaceValueWithoutNamedCG,
+                                cachedLiteralReplacement);
             }
             return replaceAccordingToSpec(rx, toString1Node.executeString(searchString), cachedReplaceValue, false);
         }
@@ -958,7 +1045,7 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                 String replaceString = toString2(replaceValue);
                 replaceVal = replaceString;
                 if (isPristine(rx)) {
-                    return replaceInternal(rx, toString1Node.executeString(searchString), replaceString, null, null);
+                    return replaceInternal(rx, toString1Node.executeString(searchString), replaceString, null, null, null);
                 }
             }
             return replaceAccordingToSpec(rx, toString1Node.executeString(searchString), replaceVal, functionalReplace);
@@ -987,6 +1074,28 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             return ReplaceStringParser.parse(replaceValue, 100, parseNamedCG);
         }
 
+        /**
+         * Returns the expanded replacement string if the replacement does not refer to the match,
+         * i.e., if it only consists of literals (and {@code $$} escapes), otherwise {@code null}.
+         */
+        @TruffleBoundary
+        static String getLiteralReplacement(String replaceValue, ReplaceStringParser.Token[] parsedWithNamedCG, ReplaceStringParser.Token[] parsedWithoutNamedCG) {
+            StringBuilder sb = new StringBuilder(replaceValue.length());
+            for (ReplaceStringParser.Token token : parsedWithoutNamedCG) {
+                if (token.getKind() != ReplaceStringParser.Token.Kind.literal) {
+                    return null;
+                }
+                ReplaceStringParser.LiteralToken literal = (ReplaceStringParser.LiteralToken) token;
+                sb.append(replaceValue, literal.getStart(), literal.getEnd());
+            }
+            for (ReplaceStringParser.Token token : parsedWithNamedCG) {
+                if (token.getKind() != ReplaceStringParser.Token.Kind.literal) {
+                    return null;
+                }
+            }
+            return sb.toString();
+        }
+
         private void initTRegexAccessors() {
             if (compiledRegexAccessor == null || flagsAccessor == null || resultAccessor == null || execIgnoreLastIndexNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -997,7 +1106,15 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             }
         }
 
-        private String replaceInternal(DynamicObject rx, String s, String replaceString, ReplaceStringParser.Token[] parsedWithNamedCG, ReplaceStringParser.Token[] parsedWithoutNamedCG) {
+        /**
+         * Replace loop for pristine regular expressions: executes the compiled regex directly,
+         * without creating result arrays or writing {@code lastIndex} for each match.
+         *
+         * @param literalReplacement the expanded replacement string if it does not refer to the
+         *            match (see {@link #getLiteralReplacement}), otherwise {@code null}
+         */
+        private String replaceInternal(DynamicObject rx, String s, String replaceString, ReplaceStringParser.Token[] parsedWithNamedCG, ReplaceStringParser.Token[] parsedWithoutNamedCG,
+                        String literalReplacement) {
             initTRegexAccessors();
             Object tRegexCompiledRegex = compiledRegexProfile.profile(JSRegExp.getCompiledRegexUnchecked(rx, isJSRegExp(rx)));
             Object tRegexFlags = compiledRegexAccessor.flags(tRegexCompiledRegex);
@@ -1028,11 +1145,14 @@ public final class RegExpPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
                 int matchEnd = resultAccessor.captureGroupEnd(tRegexResult, 0);
                 assert matchStart >= 0 && matchStart <= length && matchStart >= lastMatchEnd;
                 stringBuilderProfile.append(accumulatedResult, s, lastMatchEnd, matchStart);
-                boolean namedCG = hasNamedCaptureGroupsProfile.profile(!getNamedCaptureGroupsAccessor().isNull(compiledRegexAccessor.namedCaptureGroups(tRegexCompiledRegex)));
-                if (parsedWithNamedCG == null) {
+                if (literalReplacement != null) {
+                    stringBuilderProfile.append(accumulatedResult, literalReplacement);
+                } else if (parsedWithNamedCG == null) {
+                    boolean namedCG = hasNamedCaptureGroupsProfile.profile(!getNamedCaptureGroupsAccessor().isNull(compiledRegexAccessor.namedCaptureGroups(tRegexCompiledRegex)));
                     ReplaceStringParser.process(replaceString, compiledRegexAccessor.groupCount(tRegexCompiledRegex), namedCG, dollarProfile,
                                     new ReplaceStringConsumerTRegex(accumulatedResult, s, replaceString, matchStart, matchEnd, tRegexResult, tRegexCompiledRegex), this);
                 } else {
+                    boolean namedCG = hasNamedCaptureGroupsProfile.profile(!getNamedCaptureGroupsAccessor().isNull(compiledRegexAccessor.namedCaptureGroups(tRegexCompiledRegex)));
                     ReplaceStringParser.processParsed(namedCG ? parsedWithNamedCG : parsedWithoutNamedCG,
                                     new ReplaceStringConsumerTRegex(accumulatedResult, s, replaceString, matchStart, matchEnd, tRegexResult, tRegexCompiledRegex), this);
                 }
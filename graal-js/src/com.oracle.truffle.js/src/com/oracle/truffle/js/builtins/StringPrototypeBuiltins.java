@@ -43,6 +43,7 @@ package com.oracle.truffle.js.builtins;
 import java.text.Collator;
 import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
@@ -132,11 +133,13 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSRegExp;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.IntlUtil;
 import com.oracle.truffle.js.runtime.util.SimpleArrayList;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
+import com.oracle.truffle.js.runtime.util.StringSearchProfile;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 
 /**
@@ -668,7 +671,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization
-        protected String substring(String thisStr, int start, int end) {
+        protected Object substring(String thisStr, int start, int end) {
             int len = thisStr.length();
             int finalStart = within(start, 0, len);
             int finalEnd = within(end, 0, len);
@@ -676,23 +679,23 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization(guards = "isUndefined(end)")
-        protected String substringStart(String thisStr, int start, @SuppressWarnings("unused") Object end) {
+        protected Object substringStart(String thisStr, int start, @SuppressWarnings("unused") Object end) {
             int len = thisStr.length();
             int finalStart = within(start, 0, len);
             int finalEnd = len;
             return substringIntl(thisStr, finalStart, finalEnd);
         }
 
-        private String substringIntl(String thisStr, int start, int end) {
+        private Object substringIntl(String thisStr, int start, int end) {
             if (startLowerEnd.profile(start <= end)) {
-                return Boundaries.substring(thisStr, start, end);
+                return JSSlicedString.substring(thisStr, start, end);
             } else {
-                return Boundaries.substring(thisStr, end, start);
+                return JSSlicedString.substring(thisStr, end, start);
             }
         }
 
         @Specialization(replaces = {"substring", "substringStart"})
-        protected String substringGeneric(Object thisObj, Object start, Object end,
+        protected Object substringGeneric(Object thisObj, Object start, Object end,
                         @Cached("create()") JSToNumberNode toNumberNode,
                         @Cached("create()") JSToNumberNode toNumber2Node,
                         @Cached("createBinaryProfile()") ConditionProfile startUndefined,
@@ -727,7 +730,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
             @Override
             @Specialization
-            protected String substringGeneric(Object thisObj, Object start, Object end,
+            protected Object substringGeneric(Object thisObj, Object start, Object end,
                             @Cached("create()") JSToNumberNode toNumberNode,
                             @Cached("create()") JSToNumberNode toNumber2Node,
                             @Cached("createBinaryProfile()") ConditionProfile startUndefined,
@@ -756,6 +759,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
      */
     public abstract static class JSStringIndexOfNode extends JSStringOperation {
         private final ConditionProfile hasPos = ConditionProfile.createBinaryProfile();
+        private final StringSearchProfile searchProfile = StringSearchProfile.create();
 
         public JSStringIndexOfNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -783,7 +787,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             } else {
                 startPos = 0;
             }
-            return thisStr.indexOf(searchStr, startPos);
+            return searchProfile.indexOf(thisStr, searchStr, startPos);
         }
     }
 
@@ -994,19 +998,39 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
 
             @TruffleBoundary
             private static Object[] regularSplitIntl(String input, int limit, String separator, int endParam, JSStringSplitNode parent) {
-                SimpleArrayList<String> splits = SimpleArrayList.create(limit);
-                int start = 0;
+                // end positions of the parts, each part starts after the separator ending the last
+                int[] ends = new int[Math.min(limit, 16)];
+                int count = 0;
                 int end = endParam;
                 while (end != -1) {
-                    splits.add(input.substring(start, end), parent.growProfile);
-                    if (splits.size() == limit) {
-                        return splits.toArray();
+                    if (count == ends.length) {
+                        parent.growProfile.enter();
+                        ends = Arrays.copyOf(ends, ends.length * 2);
                     }
-                    start = end + separator.length();
-                    end = input.indexOf(separator, start);
+                    ends[count++] = end;
+                    if (count == limit) {
+                        break;
+                    }
+                    end = input.indexOf(separator, end + separator.length());
                 }
-                splits.add(input.substring(start), parent.growProfile);
-                return splits.toArray();
+                if (count < limit) {
+                    if (count == ends.length) {
+                        parent.growProfile.enter();
+                        ends = Arrays.copyOf(ends, ends.length + 1);
+                    }
+                    ends[count++] = input.length();
+                }
+                // the parts cover the input except for the separators between them
+                int totalLength = ends[count - 1] - (count - 1) * separator.length();
+                // parts are views of the input if they retain little more than the input in total
+                boolean share = JSSlicedString.sharesParent(input, totalLength);
+                Object[] splits = new Object[count];
+                int start = 0;
+                for (int i = 0; i < count; i++) {
+                    splits[i] = share ? JSSlicedString.part(input, start, ends[i]) : input.substring(start, ends[i]);
+                    start = ends[i] + separator.length();
+                }
+                return splits;
             }
 
             private static Object[] individualCharSplit(String input, int limit) {
@@ -1795,6 +1819,8 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
      */
     public abstract static class JSStringToLowerCaseNode extends JSStringOperation {
         private final boolean locale;
+        private final ConditionProfile isLatin1 = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile isLowerCase = ConditionProfile.createBinaryProfile();
 
         public JSStringToLowerCaseNode(JSContext context, JSBuiltin builtin, boolean locale) {
             super(context, builtin);
@@ -1805,12 +1831,53 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         protected String toLowerCase(Object thisObj) {
             requireObjectCoercible(thisObj);
             String thisStr = toString(thisObj);
+            if (!locale) {
+                int first = indexOfLatin1UpperCase(thisStr);
+                if (isLatin1.profile(first >= 0)) {
+                    if (isLowerCase.profile(first == thisStr.length())) {
+                        return thisStr;
+                    }
+                    return latin1ToLowerCase(thisStr, first);
+                }
+            }
             return toLowerCaseIntl(thisStr);
         }
 
         private String toLowerCaseIntl(String str) {
             return Boundaries.stringToLowerCase(str, locale ? getContext().getLocale() : Locale.US);
         }
+
+        /**
+         * Returns the index of the first upper case character, the length of the string if there
+         * is none, or -1 if the string contains characters outside of Latin-1.
+         */
+        private static int indexOfLatin1UpperCase(String str) {
+            int first = str.length();
+            for (int i = 0; i < str.length(); i++) {
+                char c = str.charAt(i);
+                if (c > 0xFF) {
+                    return -1;
+                } else if (first == str.length() && isLatin1UpperCase(c)) {
+                    first = i;
+                }
+            }
+            return first;
+        }
+
+        private static boolean isLatin1UpperCase(char c) {
+            return (c >= 'A' && c <= 'Z') || (c >= 0xC0 && c <= 0xDE && c != 0xD7);
+        }
+
+        @TruffleBoundary
+        private static String latin1ToLowerCase(String str, int first) {
+            char[] chars = str.toCharArray();
+            for (int i = first; i < chars.length; i++) {
+                if (isLatin1UpperCase(chars[i])) {
+                    chars[i] += 0x20;
+                }
+            }
+            return new String(chars);
+        }
     }
 
     public abstract static class JSStringToLocaleXCaseIntl extends JSStringOperation {
@@ -1879,6 +1946,8 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
      */
     public abstract static class JSStringToUpperCaseNode extends JSStringOperation {
         private final boolean locale;
+        private final ConditionProfile isLatin1 = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile isUpperCase = ConditionProfile.createBinaryProfile();
 
         public JSStringToUpperCaseNode(JSContext context, JSBuiltin builtin, boolean locale) {
             super(context, builtin);
@@ -1889,12 +1958,54 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         protected String toUpperCase(Object thisObj) {
             requireObjectCoercible(thisObj);
             String thisStr = toString(thisObj);
+            if (!locale) {
+                int first = indexOfLatin1LowerCase(thisStr);
+                if (isLatin1.profile(first >= 0)) {
+                    if (isUpperCase.profile(first == thisStr.length())) {
+                        return thisStr;
+                    }
+                    return latin1ToUpperCase(thisStr, first);
+                }
+            }
             return toUpperCaseIntl(thisStr);
         }
 
         private String toUpperCaseIntl(String str) {
             return Boundaries.stringToUpperCase(str, locale ? getContext().getLocale() : Locale.US);
         }
+
+        /**
+         * Returns the index of the first lower case character, the length of the string if there
+         * is none, or -1 if the string contains characters outside of Latin-1 or characters whose
+         * upper case is not a single Latin-1 character (\u00B5, \u00DF and \u00FF).
+         */
+        private static int indexOfLatin1LowerCase(String str) {
+            int first = str.length();
+            for (int i = 0; i < str.length(); i++) {
+                char c = str.charAt(i);
+                if (c > 0xFF || c == 0xB5 || c == 0xDF || c == 0xFF) {
+                    return -1;
+                } else if (first == str.length() && isLatin1LowerCase(c)) {
+                    first = i;
+                }
+            }
+            return first;
+        }
+
+        private static boolean isLatin1LowerCase(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 0xE0 && c <= 0xFE && c != 0xF7);
+        }
+
+        @TruffleBoundary
+        private static String latin1ToUpperCase(String str, int first) {
+            char[] chars = str.toCharArray();
+            for (int i = first; i < chars.length; i++) {
+                if (isLatin1LowerCase(chars[i])) {
+                    chars[i] -= 0x20;
+                }
+            }
+            return new String(chars);
+        }
     }
 
     /**
@@ -2320,25 +2431,25 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         @Specialization
-        protected String sliceString(String str, int start, int end) {
+        protected Object sliceString(String str, int start, int end) {
             int len = str.length();
             int istart = JSRuntime.getOffset(start, len, offsetProfile1);
             int iend = JSRuntime.getOffset(end, len, offsetProfile2);
             if (canReturnEmpty.profile(iend > istart)) {
-                return Boundaries.substring(str, istart, iend);
+                return JSSlicedString.substring(str, istart, iend);
             } else {
                 return "";
             }
         }
 
         @Specialization(replaces = "sliceString")
-        protected String sliceObject(Object thisObj, int start, int end) {
+        protected Object sliceObject(Object thisObj, int start, int end) {
             requireObjectCoercible(thisObj);
             return sliceString(toString(thisObj), start, end);
         }
 
         @Specialization(replaces = {"sliceString", "sliceObject"})
-        protected String slice(Object thisObj, Object start, Object end) {
+        protected Object slice(Object thisObj, Object start, Object end) {
             requireObjectCoercible(thisObj);
             String s = toString(thisObj);
 
@@ -2346,7 +2457,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             long istart = JSRuntime.getOffset(toInteger(start), len, offsetProfile1);
             long iend = isUndefined.profile(end == Undefined.instance) ? len : JSRuntime.getOffset(toInteger(end), len, offsetProfile2);
             if (canReturnEmpty.profile(iend > istart)) {
-                return Boundaries.substring(s, (int) istart, (int) iend);
+                return JSSlicedString.substring(s, (int) istart, (int) iend);
             } else {
                 return "";
             }
@@ -2450,6 +2561,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
         }
 
         private final BranchProfile noStringBranch = BranchProfile.create();
+        private final StringSearchProfile searchProfile = StringSearchProfile.create();
 
         @Specialization
         protected boolean includes(Object thisObj, Object searchString, Object position,
@@ -2463,7 +2575,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             }
             String searchStr = toString2Node.executeString(searchString);
             int fromIndex = toInteger(position);
-            return thisStr.indexOf(searchStr, fromIndex) != -1;
+            return searchProfile.indexOf(thisStr, searchStr, fromIndex) != -1;
         }
     }
 
@@ -2554,6 +2666,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
      * Implementation of the String.prototype.normalize() method of ECMAScript6/Harmony.
      */
     public abstract static class JSStringNormalizeNode extends JSStringOperation {
+        private final ConditionProfile isNormalized = ConditionProfile.createBinaryProfile();
 
         public JSStringNormalizeNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
@@ -2564,11 +2677,32 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             requireObjectCoercible(thisObj);
             String thisStr = toString(thisObj);
             String formStr = toString(form);
-            return doNormalize(thisStr, form, formStr);
+            Normalizer.Form useForm = getForm(form, formStr);
+            if (isNormalized.profile(isTriviallyNormalized(thisStr, useForm == Normalizer.Form.NFC ? 0xFF : 0x7F))) {
+                return thisStr;
+            }
+            return doNormalize(thisStr, useForm);
+        }
+
+        /**
+         * ASCII strings are invariant under all normalization forms, Latin-1 strings under NFC.
+         */
+        private static boolean isTriviallyNormalized(String str, int maxChar) {
+            for (int i = 0; i < str.length(); i++) {
+                if (str.charAt(i) > maxChar) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @TruffleBoundary
+        private static String doNormalize(String thisStr, Normalizer.Form form) {
+            return Normalizer.normalize(thisStr, form);
         }
 
         @TruffleBoundary
-        private static String doNormalize(String thisStr, Object form, String formStr) {
+        private static Normalizer.Form getForm(Object form, String formStr) {
             Normalizer.Form useForm = null;
             if (form == Undefined.instance || formStr.length() <= 0 || formStr.equals("NFC")) {
                 useForm = Normalizer.Form.NFC;
@@ -2581,7 +2715,7 @@ public final class StringPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnu
             } else {
                 throw Errors.createRangeError("invalid form string");
             }
-            return Normalizer.normalize(thisStr, useForm);
+            return useForm;
         }
     }
 
@@ -321,6 +321,8 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
         private final ConditionProfile arrayIsArray = ConditionProfile.createBinaryProfile();
         private final ConditionProfile arrayIsArrayBufferView = ConditionProfile.createBinaryProfile();
         private final ConditionProfile isDirectProf = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile isSourceDirectProf = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile sameElementTypeProf = ConditionProfile.createBinaryProfile();
         private final BranchProfile intToIntBranch = BranchProfile.create();
         private final BranchProfile floatToFloatBranch = BranchProfile.create();
         private final BranchProfile bigIntToBigIntBranch = BranchProfile.create();
@@ -444,19 +446,13 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
         private void copyTypedArrayElementsDistinctBuffers(DynamicObject targetBuffer, DynamicObject sourceBuffer, TypedArray targetType, TypedArray sourceType,
                         int targetOffset, int targetByteOffset, int sourceLength, int sourceByteIndex) {
             Object targetBackingBuffer = isDirectProf.profile(targetType.isDirect()) ? JSArrayBuffer.getDirectByteBuffer(targetBuffer) : JSArrayBuffer.getByteArray(targetBuffer);
-            Object sourceBackingBuffer = isDirectProf.profile(sourceType.isDirect()) ? JSArrayBuffer.getDirectByteBuffer(sourceBuffer) : JSArrayBuffer.getByteArray(sourceBuffer);
+            Object sourceBackingBuffer = isSourceDirectProf.profile(sourceType.isDirect()) ? JSArrayBuffer.getDirectByteBuffer(sourceBuffer) : JSArrayBuffer.getByteArray(sourceBuffer);
             int targetElementSize = targetType.bytesPerElement();
             int sourceElementSize = sourceType.bytesPerElement();
             int targetByteIndex = targetByteOffset + targetOffset * targetElementSize;
-            if (sourceType == targetType) {
-                // same element type => bulk copy
-                int sourceByteLength = sourceLength * sourceElementSize;
-                if (isDirectProf.profile(targetType.isDirect())) {
-                    ((ByteBuffer) asBaseBuffer(((ByteBuffer) targetBackingBuffer).duplicate()).position(targetByteIndex)).put(
-                                    ((ByteBuffer) asBaseBuffer(((ByteBuffer) sourceBackingBuffer).duplicate()).position(sourceByteIndex).limit(sourceByteIndex + sourceByteLength)).slice());
-                } else {
-                    System.arraycopy(sourceBackingBuffer, sourceByteIndex, targetBackingBuffer, targetByteIndex, sourceByteLength);
-                }
+            if (sameElementTypeProf.profile(sourceType.getFactory() == targetType.getFactory())) {
+                // same element type (heap or direct) => bulk copy
+                TypedArray.copyBytes(sourceBackingBuffer, sourceByteIndex, targetBackingBuffer, targetByteIndex, sourceLength * sourceElementSize);
             } else if (sourceType instanceof TypedArray.TypedIntArray && targetType instanceof TypedArray.TypedIntArray) {
                 intToIntBranch.enter();
                 for (int i = 0; i < sourceLength; i++) {
@@ -630,8 +626,13 @@ public final class TypedArrayPrototypeBuiltins extends JSBuiltinsContainer.Switc
             long lStart = JSRuntime.getOffset(toIntegerSpecial(start), len, offsetProfile1);
             long lEnd = end == Undefined.instance ? len : JSRuntime.getOffset(toIntegerSpecial(end), len, offsetProfile2);
             checkHasDetachedBuffer(thisJSObj);
-            for (long idx = lStart; idx < lEnd; idx++) {
-                write(thisJSObj, idx, convValue);
+            if (lStart < lEnd) {
+                // store the converted value once, then replicate its bytes over the range
+                write(thisJSObj, lStart, convValue);
+                TypedArray typedArray = JSArrayBufferView.typedArrayGetArrayType(thisJSObj);
+                int elementSize = typedArray.bytesPerElement();
+                int byteIndex = JSArrayBufferView.typedArrayGetOffset(thisJSObj) + (int) lStart * elementSize;
+                TypedArray.fillBytes(typedArray.getBufferFromTypedArray(thisJSObj, true), byteIndex, elementSize, (int) (lEnd - lStart) * elementSize);
             }
             return thisJSObj;
         }
@@ -76,6 +76,7 @@ import com.oracle.truffle.js.runtime.util.TRegexUtil;
 public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
 
     private final JSContext context;
+    private final boolean materializeResult;
     @Child private JSRegExpExecBuiltinNode regExpBuiltinNode;
     @Child private PropertyGetNode getExecNode;
     @Child private IsJSClassNode isJSRegExpNode;
@@ -88,12 +89,22 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
     private final ConditionProfile validResultProfile = ConditionProfile.createBinaryProfile();
     private final ConditionProfile isRegExpProfile = ConditionProfile.createBinaryProfile();
 
-    JSRegExpExecIntlNode(JSContext context) {
+    JSRegExpExecIntlNode(JSContext context, boolean materializeResult) {
         this.context = context;
+        this.materializeResult = materializeResult;
     }
 
     public static JSRegExpExecIntlNode create(JSContext context) {
-        return JSRegExpExecIntlNodeGen.create(context);
+        return JSRegExpExecIntlNodeGen.create(context, true);
+    }
+
+    /**
+     * Creates a node for callers that only check whether there was a match (e.g.
+     * {@code RegExp.prototype.test}). If the built-in exec is used, the result is the raw regex
+     * result instead of a match array.
+     */
+    public static JSRegExpExecIntlNode createMatchOnly(JSContext context) {
+        return JSRegExpExecIntlNodeGen.create(context, false);
     }
 
     public abstract Object execute(DynamicObject regExp, String input);
@@ -151,7 +162,7 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
     private Object executeBuiltIn(DynamicObject regExp, String input) {
         if (regExpBuiltinNode == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            regExpBuiltinNode = insert(JSRegExpExecBuiltinNode.create(context));
+            regExpBuiltinNode = insert(JSRegExpExecBuiltinNode.create(context, materializeResult));
         }
         return regExpBuiltinNode.execute(regExp, input);
     }
@@ -263,6 +274,7 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
     public abstract static class JSRegExpExecBuiltinNode extends JavaScriptBaseNode {
 
         private final JSContext context;
+        private final boolean materializeResult;
         private final ConditionProfile invalidLastIndex = ConditionProfile.createBinaryProfile();
         private final ConditionProfile match = ConditionProfile.createCountingProfile();
         private final ConditionProfile stickyProfile = ConditionProfile.createBinaryProfile();
@@ -276,13 +288,23 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
         @Child private TRegexUtil.TRegexResultAccessor regexResultAccessor = TRegexUtil.TRegexResultAccessor.create();
         @Child private BuildGroupsObjectNode groupsBuilder;
 
-        JSRegExpExecBuiltinNode(JSContext context) {
+        JSRegExpExecBuiltinNode(JSContext context, boolean materializeResult) {
             this.context = context;
+            this.materializeResult = materializeResult;
             ecmaScriptVersion = context.getEcmaScriptVersion();
         }
 
         public static JSRegExpExecBuiltinNode create(JSContext context) {
-            return JSRegExpExecBuiltinNodeGen.create(context);
+            return create(context, true);
+        }
+
+        /**
+         * @param materializeResult if {@code false}, a match is returned as the raw regex result
+         *            instead of a match array, for callers that only distinguish match and no
+         *            match.
+         */
+        public static JSRegExpExecBuiltinNode create(JSContext context, boolean materializeResult) {
+            return JSRegExpExecBuiltinNodeGen.create(context, materializeResult);
         }
 
         private Object getEmptyResult() {
@@ -332,7 +354,7 @@ public abstract class JSRegExpExecIntlNode extends JavaScriptBaseNode {
                 if (global || sticky) {
                     setLastIndex(regExp, regexResultAccessor.captureGroupEnd(result, 0));
                 }
-                if (ecmaScriptVersion < 6) {
+                if (ecmaScriptVersion < 6 || !materializeResult) {
                     return result;
                 }
                 int groupCount = compiledRegexAccessor.groupCount(compiledRegex);
@@ -42,16 +42,22 @@ package com.oracle.truffle.js.builtins.helper;
 
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetArrayType;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.LockSupport;
+
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.WaiterRecord;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.TypedArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.util.ByteBufferAtomics;
 import com.oracle.truffle.js.runtime.util.Fences;
 
 /**
@@ -100,98 +106,89 @@ public final class SharedMemorySync {
     // ##### Atomic CAS primitives
     @TruffleBoundary
     public static boolean compareAndSwapInt(JSContext cx, DynamicObject target, int intArrayOffset, int initial, int result) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            int value = doVolatileGet(target, intArrayOffset);
-            if (value == initial) {
-                doVolatilePut(target, intArrayOffset, result);
-                return true;
-            }
-            return false;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
-        }
+        int mask = elementMask(typedArrayGetArrayType(target).bytesPerElement());
+        return compareAndExchangeInt(cx, target, intArrayOffset, initial, result) == (initial & mask);
     }
 
     @TruffleBoundary
     public static boolean compareAndSwapBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt initial, BigInt result) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            BigInt value = doVolatileGetBigInt(target, intArrayOffset);
-            if (value.compareTo(initial) == 0) {
-                doVolatilePutBigInt(target, intArrayOffset, result);
-                return true;
-            }
-            return false;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
-        }
+        long expected = initial.longValue();
+        return compareAndExchangeLong(cx, target, intArrayOffset, expected, result.longValue()) == expected;
     }
 
     // ##### Atomic Fetch-or-Get primitives
     @TruffleBoundary
     public static long atomicFetchOrGetUnsigned(JSContext cx, DynamicObject target, int intArrayOffset, Object expected, Object replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        long read = JSRuntime.toUInt32(doVolatileGet(target, intArrayOffset));
-        if (read == JSRuntime.toUInt32(expected)) {
-            doVolatilePut(target, intArrayOffset, (int) JSRuntime.toUInt32(replacement));
-        }
-        cx.getJSAgent().atomicSectionLeave(target);
-        return read;
+        int read = compareAndExchangeInt(cx, target, intArrayOffset, (int) JSRuntime.toUInt32(expected), (int) JSRuntime.toUInt32(replacement));
+        return JSRuntime.toUInt32(read);
     }
 
     @TruffleBoundary
     public static long atomicFetchOrGetLong(JSContext cx, DynamicObject target, int intArrayOffset, long expected, long replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            int read = doVolatileGet(target, intArrayOffset);
-            if (read == expected) {
-                doVolatilePut(target, intArrayOffset, (int) replacement);
-            }
-            return read;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
+        if (expected != (int) expected) {
+            return doVolatileGet(target, intArrayOffset);
         }
+        return compareAndExchangeInt(cx, target, intArrayOffset, (int) expected, (int) replacement);
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetInt(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        try {
-            int read = doVolatileGet(target, intArrayOffset);
-            if (read == expected) {
-                doVolatilePut(target, intArrayOffset, replacement);
-            }
-            return read;
-        } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
-        }
+        return compareAndExchangeInt(cx, target, intArrayOffset, expected, replacement);
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetShort(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
-        cx.getJSAgent().atomicSectionEnter(target);
-        int read = doVolatileGet(target, intArrayOffset);
-        read = sign ? read : read & 0xFFFF;
-        int expectedChopped = sign ? (short) expected : expected & 0xFFFF;
-        if (read == expectedChopped) {
-            int signed = sign ? replacement : replacement & 0xFFFF;
-            SharedMemorySync.doVolatilePut(target, intArrayOffset, (short) signed);
-        }
-        cx.getJSAgent().atomicSectionLeave(target);
-        return read;
+        int read = compareAndExchangeInt(cx, target, intArrayOffset, expected, replacement);
+        return sign ? (short) read : read;
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetByte(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
+        int read = compareAndExchangeInt(cx, target, intArrayOffset, expected, replacement);
+        return sign ? (byte) read : read;
+    }
+
+    @TruffleBoundary
+    public static BigInt atomicFetchOrGetBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt expected, BigInt replacement) {
+        long read = compareAndExchangeLong(cx, target, intArrayOffset, expected.longValue(), replacement.longValue());
+        boolean unsigned = typedArrayGetArrayType(target) instanceof TypedArray.DirectBigUint64Array;
+        return unsigned ? BigInt.valueOfUnsigned(read) : BigInt.valueOf(read);
+    }
+
+    // ##### Compare-and-exchange of raw element bits
+
+    private static int elementMask(int bytesPerElement) {
+        return (bytesPerElement == Integer.BYTES) ? -1 : (1 << (bytesPerElement * Byte.SIZE)) - 1;
+    }
+
+    /**
+     * Compares the element with the low bytes of {@code expected} and replaces it with the low bytes
+     * of {@code replacement} if they match. Uses a hardware compare-and-exchange when available (8-
+     * and 16-bit elements are updated within their aligned 32-bit word); the agent lock is used
+     * otherwise.
+     *
+     * @return the previous (zero-extended) bits of the element
+     */
+    private static int compareAndExchangeInt(JSContext cx, DynamicObject target, int index, int expected, int replacement) {
+        int size = typedArrayGetArrayType(target).bytesPerElement();
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target, JSArrayBufferView.isJSArrayBufferView(target));
+        int byteIndex = JSArrayBufferView.typedArrayGetOffset(target) + index * size;
+        if (size == Integer.BYTES) {
+            if (ByteBufferAtomics.isLockFree(buffer, byteIndex, Integer.BYTES)) {
+                return ByteBufferAtomics.compareAndExchangeInt32(buffer, byteIndex, expected, replacement);
+            }
+        } else {
+            int wordIndex = byteIndex & -Integer.BYTES;
+            if (ByteBufferAtomics.isLockFree(buffer, wordIndex, Integer.BYTES)) {
+                return compareAndExchangeSubWord(buffer, byteIndex, wordIndex, size, expected, replacement);
+            }
+        }
+        int mask = elementMask(size);
         cx.getJSAgent().atomicSectionEnter(target);
         try {
-            int read = doVolatileGet(target, intArrayOffset);
-            read = sign ? read : read & 0xFF;
-            int expectedChopped = sign ? (byte) expected : expected & 0xFF;
-            if (read == expectedChopped) {
-                int signed = sign ? replacement : replacement & 0xFF;
-                SharedMemorySync.doVolatilePut(target, intArrayOffset, (byte) signed);
+            int read = doVolatileGet(target, index) & mask;
+            if (read == (expected & mask)) {
+                doVolatilePut(target, index, replacement);
             }
             return read;
         } finally {
@@ -199,13 +196,35 @@ public final class SharedMemorySync {
         }
     }
 
-    @TruffleBoundary
-    public static BigInt atomicFetchOrGetBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt expected, BigInt replacement) {
+    private static int compareAndExchangeSubWord(ByteBuffer buffer, int byteIndex, int wordIndex, int size, int expected, int replacement) {
+        int byteInWord = byteIndex - wordIndex;
+        int shift = (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? byteInWord : Integer.BYTES - size - byteInWord) * Byte.SIZE;
+        int mask = elementMask(size) << shift;
+        int expectedBits = (expected << shift) & mask;
+        int replacementBits = (replacement << shift) & mask;
+        // first guess: the neighbouring elements are zero
+        int witness = expectedBits;
+        while (true) {
+            int assumed = (witness & ~mask) | expectedBits;
+            witness = ByteBufferAtomics.compareAndExchangeInt32(buffer, wordIndex, assumed, (assumed & ~mask) | replacementBits);
+            if (witness == assumed || (witness & mask) != expectedBits) {
+                return (witness & mask) >>> shift;
+            }
+            // only a neighbouring element has changed, retry
+        }
+    }
+
+    private static long compareAndExchangeLong(JSContext cx, DynamicObject target, int index, long expected, long replacement) {
+        ByteBuffer buffer = JSArrayBufferView.typedArrayGetByteBuffer(target, JSArrayBufferView.isJSArrayBufferView(target));
+        int byteIndex = JSArrayBufferView.typedArrayGetOffset(target) + index * Long.BYTES;
+        if (ByteBufferAtomics.isLockFree(buffer, byteIndex, Long.BYTES)) {
+            return ByteBufferAtomics.compareAndExchangeInt64(buffer, byteIndex, expected, replacement);
+        }
         cx.getJSAgent().atomicSectionEnter(target);
         try {
-            BigInt read = doVolatileGetBigInt(target, intArrayOffset);
-            if (read.compareTo(expected) == 0) {
-                doVolatilePutBigInt(target, intArrayOffset, replacement);
+            long read = doVolatileGetBigInt(target, index).longValue();
+            if (read == expected) {
+                doVolatilePutBigInt(target, index, BigInt.valueOf(replacement));
             }
             return read;
         } finally {
@@ -219,7 +238,9 @@ public final class SharedMemorySync {
     public static JSAgentWaiterListEntry getWaiterList(JSContext cx, DynamicObject target, int indexPos) {
         DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(target, JSArrayBufferView.isJSArrayBufferView(target));
         JSAgentWaiterList waiterList = JSSharedArrayBuffer.getWaiterList(arrayBuffer);
-        return waiterList.getListForIndex(indexPos);
+        // waiters are keyed by byte index so that views with different offsets share the queue
+        int byteIndex = JSArrayBufferView.typedArrayGetOffset(target) + indexPos * typedArrayGetArrayType(target).bytesPerElement();
+        return waiterList.getListForIndex(byteIndex);
     }
 
     @TruffleBoundary
@@ -238,51 +259,71 @@ public final class SharedMemorySync {
     }
 
     @TruffleBoundary
-    public static void addWaiter(JSContext cx, JSAgentWaiterListEntry wl, int id) {
+    public static void addWaiter(JSContext cx, JSAgentWaiterListEntry wl, WaiterRecord w) {
         assert cx.getJSAgent().inCriticalSection();
-        assert !wl.contains(id);
-        wl.add(id);
+        assert !wl.contains(w);
+        wl.add(w);
     }
 
     @TruffleBoundary
-    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, int w) {
+    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, WaiterRecord w) {
         assert cx.getJSAgent().inCriticalSection();
         assert wl.contains(w);
         wl.remove(w);
     }
 
-    /* ECMA2017 24.4.1.9 - Suspend returns true if agent was woken by another agent */
+    /*
+     * ECMA2017 24.4.1.9 - Suspend returns true if agent was woken by another agent. The thread is
+     * parked until it is notified, the timeout elapses or the thread is interrupted; an interrupt
+     * is left pending for the caller (see clearInterrupted).
+     */
     @TruffleBoundary
-    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, int w, int timeout) {
+    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, WaiterRecord w) {
         assert cx.getJSAgent().inCriticalSection();
         assert wl.contains(w);
-        assert cx.getJSAgent().getSignifier() == w;
+        assert cx.getJSAgent() == w.getAgent() && !w.isAsync();
         assert cx.getJSAgent().canBlock();
         cx.getJSAgent().criticalSectionLeave(wl);
-        boolean interrupt = false;
         try {
-            Thread.sleep(timeout);
-        } catch (InterruptedException e) {
-            interrupt = true;
+            while (!w.isNotified() && !Thread.currentThread().isInterrupted()) {
+                long remaining = w.remainingNanos(System.nanoTime());
+                if (remaining <= 0) {
+                    break;
+                } else if (remaining == WaiterRecord.NO_DEADLINE) {
+                    LockSupport.park(w);
+                } else {
+                    LockSupport.parkNanos(w, remaining);
+                }
+            }
+        } finally {
+            cx.getJSAgent().criticalSectionEnter(wl);
         }
-        cx.getJSAgent().criticalSectionEnter(wl);
-        return interrupt;
+        return w.isNotified();
+    }
+
+    /**
+     * Returns whether the current thread has been interrupted (e.g., to cancel the execution)
+     * while it was suspended, clearing the interrupted status.
+     */
+    @TruffleBoundary
+    public static boolean clearInterrupted() {
+        return Thread.interrupted();
     }
 
     /* ECMA2017 24.4.1.10 - Wake up another agent */
     @TruffleBoundary
-    public static void wakeWaiter(JSContext cx, int w) {
+    public static void wakeWaiter(JSContext cx, WaiterRecord w) {
         assert cx.getJSAgent().inCriticalSection();
-        cx.getJSAgent().wakeAgent(w);
+        w.notifyWaiter();
     }
 
     @TruffleBoundary
-    public static int[] removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
+    public static WaiterRecord[] removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
         assert cx.getJSAgent().inCriticalSection();
         int c = Integer.min(wl.size(), count);
-        int[] removed = new int[c];
-        while (c-- > 0) {
-            removed[c] = wl.poll();
+        WaiterRecord[] removed = new WaiterRecord[c];
+        for (int i = 0; i < c; i++) {
+            removed[i] = wl.poll();
         }
         return removed;
     }
@@ -48,10 +48,12 @@ import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.LargeInteger;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSLazyStringFlattened;
 import com.oracle.truffle.js.runtime.objects.JSLazyStringRaw;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 import com.oracle.truffle.js.runtime.objects.PropertyReference;
 
 /**
@@ -129,6 +131,16 @@ public class JSTypes {
         return value.toString();
     }
 
+    @ImplicitCast
+    public static String castString(JSExternalString value) {
+        return value.toString();
+    }
+
+    @ImplicitCast
+    public static String castString(JSSlicedString value) {
+        return value.toString();
+    }
+
     @ImplicitCast
     public static CharSequence castCharSequence(String value) {
         return value;
@@ -143,4 +155,14 @@ public class JSTypes {
     public static CharSequence castCharSequence(PropertyReference value) {
         return value;
     }
+
+    @ImplicitCast
+    public static CharSequence castCharSequence(JSExternalString value) {
+        return value;
+    }
+
+    @ImplicitCast
+    public static CharSequence castCharSequence(JSSlicedString value) {
+        return value;
+    }
 }
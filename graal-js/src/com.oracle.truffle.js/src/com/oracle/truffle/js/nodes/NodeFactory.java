@@ -139,6 +139,7 @@ import com.oracle.truffle.js.nodes.binary.JSNullishCoalescingNode;
 import com.oracle.truffle.js.nodes.binary.JSOrNode;
 import com.oracle.truffle.js.nodes.binary.JSRightShiftNode;
 import com.oracle.truffle.js.nodes.binary.JSSubtractNode;
+import com.oracle.truffle.js.nodes.binary.JSTemplateConcatNode;
 import com.oracle.truffle.js.nodes.binary.JSTypeofIdenticalNode;
 import com.oracle.truffle.js.nodes.binary.JSUnsignedRightShiftNode;
 import com.oracle.truffle.js.nodes.cast.JSPrepareThisNode;
@@ -893,6 +894,10 @@ public class NodeFactory {
         return JSToStringWrapperNode.create(operand);
     }
 
+    public JavaScriptNode createTemplateConcat(JSContext context, JavaScriptNode[] parts) {
+        return JSTemplateConcatNode.create(parts, context.getStringLengthLimit());
+    }
+
     public JavaScriptNode createRegExpLiteral(JSContext context, String pattern, String flags) {
         return RegExpLiteralNode.create(context, pattern, flags);
     }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.nodes.binary;
+
+import java.util.Set;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.InstrumentableNode;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.profiles.BranchProfile;
+import com.oracle.truffle.js.nodes.JavaScriptNode;
+import com.oracle.truffle.js.nodes.instrumentation.JSTags.BinaryOperationTag;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.util.PresizedStringBuilder;
+
+/**
+ * Concatenation of the string parts of an untagged template literal. All parts evaluate to
+ * strings (literal strings and the ToString conversions of the substitutions), so the result is
+ * assembled in a single buffer of the exact length instead of by a chain of additions.
+ */
+@NodeInfo(shortName = "+")
+public final class JSTemplateConcatNode extends JavaScriptNode {
+
+    @Children private final JavaScriptNode[] parts;
+    private final int stringLengthLimit;
+    private final BranchProfile errorBranch = BranchProfile.create();
+
+    private JSTemplateConcatNode(JavaScriptNode[] parts, int stringLengthLimit) {
+        this.parts = parts;
+        this.stringLengthLimit = stringLengthLimit;
+    }
+
+    public static JavaScriptNode create(JavaScriptNode[] parts, int stringLengthLimit) {
+        assert parts.length >= 2;
+        for (JavaScriptNode part : parts) {
+            assert part.isResultAlwaysOfType(String.class) : part;
+        }
+        return new JSTemplateConcatNode(parts, stringLengthLimit);
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        return executeString(frame);
+    }
+
+    @ExplodeLoop
+    @Override
+    public String executeString(VirtualFrame frame) {
+        String[] strings = new String[parts.length];
+        int length = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String part = (String) parts[i].execute(frame);
+            length += part.length();
+            // checked after each part, like the chain of additions it replaces
+            if (length < 0 || length > stringLengthLimit) {
+                errorBranch.enter();
+                throw Errors.createRangeErrorInvalidStringLength(this);
+            }
+            strings[i] = part;
+        }
+        PresizedStringBuilder result = new PresizedStringBuilder(length);
+        for (int i = 0; i < strings.length; i++) {
+            result.append(strings[i]);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public boolean isResultAlwaysOfType(Class<?> clazz) {
+        return clazz == String.class;
+    }
+
+    @Override
+    public boolean hasTag(Class<? extends Tag> tag) {
+        if (tag == BinaryOperationTag.class) {
+            return true;
+        } else {
+            return super.hasTag(tag);
+        }
+    }
+
+    @Override
+    public InstrumentableNode materializeInstrumentableNodes(Set<Class<? extends Tag>> materializedTags) {
+        if (materializedTags.contains(BinaryOperationTag.class)) {
+            JavaScriptNode node = parts[0];
+            for (int i = 1; i < parts.length; i++) {
+                if (i > 1) {
+                    transferSourceSectionAddExpressionTag(this, node);
+                }
+                node = JSAddNode.createUnoptimized(node, parts[i], false);
+            }
+            transferSourceSectionAndTags(this, node);
+            return node;
+        } else {
+            return this;
+        }
+    }
+
+    @Override
+    protected JavaScriptNode copyUninitialized() {
+        return new JSTemplateConcatNode(cloneUninitialized(parts), stringLengthLimit);
+    }
+}
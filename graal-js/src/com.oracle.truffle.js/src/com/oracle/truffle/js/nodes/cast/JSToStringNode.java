@@ -56,8 +56,10 @@ import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 
@@ -105,6 +107,16 @@ public abstract class JSToStringNode extends JavaScriptBaseNode {
         return value.toString(flattenProfile);
     }
 
+    @Specialization
+    protected String doExternalString(JSExternalString value) {
+        return value.toString();
+    }
+
+    @Specialization
+    protected String doSlicedString(JSSlicedString value) {
+        return value.toString();
+    }
+
     @Specialization
     protected String doString(String value) {
         return value;
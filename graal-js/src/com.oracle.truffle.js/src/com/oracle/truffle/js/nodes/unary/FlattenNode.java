@@ -47,7 +47,9 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.LargeInteger;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 import com.oracle.truffle.js.runtime.objects.PropertyReference;
 
 /**
@@ -70,6 +72,16 @@ public abstract class FlattenNode extends JavaScriptBaseNode {
         return value.toString();
     }
 
+    @Specialization
+    protected static String doExternalString(JSExternalString value) {
+        return value.toString();
+    }
+
+    @Specialization
+    protected static String doSlicedString(JSSlicedString value) {
+        return value.toString();
+    }
+
     @Specialization
     protected static double doLargeInteger(LargeInteger value) {
         return value.doubleValue();
@@ -42,6 +42,7 @@ package com.oracle.truffle.js.runtime;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -353,4 +354,9 @@ public final class Boundaries {
     public static <T> boolean economicSetContains(EconomicSet<T> economicSet, T element) {
         return economicSet.contains(element);
     }
+
+    @TruffleBoundary
+    public static ByteBuffer byteBufferSlice(ByteBuffer buffer) {
+        return buffer.slice();
+    }
 }
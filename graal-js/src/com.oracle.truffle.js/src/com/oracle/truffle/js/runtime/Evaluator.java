@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.js.runtime;
 
+import java.util.function.Supplier;
+
 import com.oracle.js.parser.ir.Expression;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.nodes.Node;
@@ -87,6 +89,13 @@ public interface Evaluator {
 
     JSModuleRecord parseModule(JSContext context, Source source, JSModuleLoader moduleLoader);
 
+    /**
+     * Starts parsing a module on a background thread. The returned supplier waits for the parser
+     * and translates the module. It has to be called instead of {@link #parseModule} on the thread
+     * that would otherwise have parsed the module.
+     */
+    Supplier<JSModuleRecord> parseModuleInBackground(JSContext context, Source source, JSModuleLoader moduleLoader);
+
     JSModuleRecord hostResolveImportedModule(JSContext context, ScriptOrModule referencingScriptOrModule, String specifier);
 
     void moduleInstantiation(JSRealm realm, JSModuleRecord moduleRecord);
@@ -41,7 +41,12 @@
 package com.oracle.truffle.js.runtime;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.graalvm.collections.EconomicSet;
@@ -51,6 +56,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.WaiterRecord;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
@@ -63,6 +69,12 @@ public abstract class JSAgent implements EcmaAgent {
 
     private static final AtomicInteger signifierGenerator = new AtomicInteger(0);
 
+    /**
+     * Wakes up agents with timed {@code Atomics.waitAsync} waiters. Created lazily, since most
+     * agents never wait asynchronously.
+     */
+    private static ScheduledThreadPoolExecutor timeoutScheduler;
+
     /* ECMA2017 Agent Record */
     private final int signifier;
     private final boolean canBlock;
@@ -75,6 +87,13 @@ public abstract class JSAgent implements EcmaAgent {
      */
     private final Deque<DynamicObject> promiseJobsQueue;
 
+    /**
+     * Pending {@code Atomics.waitAsync} waiters of this agent. Only accessed by the agent's own
+     * thread; other agents just flag the records as notified and {@link #wakeAgent() wake} this
+     * agent.
+     */
+    private final List<WaiterRecord> asyncWaiters;
+
     /**
      * According to ECMA2017 8.4 the queue of pending jobs (promises reactions) must be processed
      * when the current stack is empty. For Interop, we assume that the stack is empty when (1) we
@@ -94,9 +113,16 @@ public abstract class JSAgent implements EcmaAgent {
         this.signifier = signifierGenerator.incrementAndGet();
         this.canBlock = canBlock;
         this.promiseJobsQueue = new ArrayDeque<>(4);
+        this.asyncWaiters = new ArrayList<>();
     }
 
-    public abstract void wakeAgent(int w);
+    /**
+     * Wakes up this agent so that it settles the promises of its notified or timed-out
+     * {@code Atomics.waitAsync} waiters, i.e., calls {@link #processAllPromises()} on its own thread
+     * as soon as it is idle. May be called from any thread. Agents without an event loop may defer
+     * this until they are entered again (see {@link MainJSAgent#wakeAgent()}).
+     */
+    public abstract void wakeAgent();
 
     public int getSignifier() {
         return signifier;
@@ -145,9 +171,73 @@ public abstract class JSAgent implements EcmaAgent {
         promiseJobsQueue.push(job);
     }
 
+    @TruffleBoundary
+    public final void enqueueAsyncWaiter(WaiterRecord waiter) {
+        assert waiter.isAsync() && waiter.getAgent() == this;
+        asyncWaiters.add(waiter);
+        long remaining = waiter.remainingNanos(System.nanoTime());
+        if (remaining != WaiterRecord.NO_DEADLINE) {
+            waiter.setTimeoutTask(getTimeoutScheduler().schedule(this::wakeAgent, remaining, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor getTimeoutScheduler() {
+        if (timeoutScheduler == null) {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "JSAgent-WaitAsync-Timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // do not keep agents of notified waiters alive until their timeout
+            scheduler.setRemoveOnCancelPolicy(true);
+            timeoutScheduler = scheduler;
+        }
+        return timeoutScheduler;
+    }
+
+    /**
+     * Resolves the promises of {@code Atomics.waitAsync} waiters that have been notified or whose
+     * timeout has elapsed since the last check.
+     */
+    private void resolveAsyncWaiters() {
+        if (asyncWaiters.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Iterator<WaiterRecord> iterator = asyncWaiters.iterator(); iterator.hasNext();) {
+            WaiterRecord waiter = iterator.next();
+            String result;
+            if (waiter.isNotified()) {
+                result = "ok";
+            } else if (waiter.hasTimedOut(now)) {
+                JSAgentWaiterListEntry wl = waiter.getWaiterList();
+                wl.lock();
+                try {
+                    // the waiter could have been notified concurrently
+                    result = wl.remove(waiter) ? "timed-out" : "ok";
+                } finally {
+                    wl.unlock();
+                }
+            } else {
+                continue;
+            }
+            iterator.remove();
+            waiter.cancelTimeoutTask();
+            DynamicObject resolve = (DynamicObject) waiter.getPromiseCapability().getResolve();
+            JSRealm functionRealm = JSFunction.getRealm(resolve);
+            Object prev = functionRealm.getTruffleContext().enter();
+            try {
+                JSFunction.call(resolve, Undefined.instance, new Object[]{result});
+            } finally {
+                functionRealm.getTruffleContext().leave(prev);
+            }
+        }
+    }
+
     @TruffleBoundary
     public final void processAllPromises() {
         try {
+            resolveAsyncWaiters();
             while (!promiseJobsQueue.isEmpty()) {
                 DynamicObject nextJob = promiseJobsQueue.pollLast();
                 if (JSFunction.isJSFunction(nextJob)) {
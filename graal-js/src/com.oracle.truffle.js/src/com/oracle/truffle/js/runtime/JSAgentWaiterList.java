@@ -41,14 +41,22 @@
 package com.oracle.truffle.js.runtime;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.objects.PromiseCapabilityRecord;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Java-based implementation of ECMA2017 WaiterList (24.4.1.2).
+ *
+ * Waiters are kept in a separate FIFO queue per byte index of the shared buffer, so that
+ * {@code Atomics.notify} only has to look at (and wake) the agents that actually wait on the
+ * notified location.
  */
 public class JSAgentWaiterList {
 
@@ -62,10 +70,14 @@ public class JSAgentWaiterList {
         this.globalMonitor = new ReentrantLock();
     }
 
-    public JSAgentWaiterListEntry getListForIndex(int indexPos) {
-        JSAgentWaiterListEntry list = Boundaries.mapPutIfAbsent(waiters, indexPos, new JSAgentWaiterListEntry());
+    public JSAgentWaiterListEntry getListForIndex(int byteIndex) {
+        JSAgentWaiterListEntry list = Boundaries.mapGet(waiters, byteIndex);
+        if (list != null) {
+            return list;
+        }
+        list = Boundaries.mapPutIfAbsent(waiters, byteIndex, new JSAgentWaiterListEntry());
         if (list == null) {
-            return Boundaries.mapGet(waiters, indexPos);
+            return Boundaries.mapGet(waiters, byteIndex);
         } else {
             return list;
         }
@@ -79,7 +91,7 @@ public class JSAgentWaiterList {
         globalMonitor.unlock();
     }
 
-    public static final class JSAgentWaiterListEntry extends ConcurrentLinkedQueue<Integer> {
+    public static final class JSAgentWaiterListEntry extends ConcurrentLinkedQueue<WaiterRecord> {
 
         private static final long serialVersionUID = 2655886588267252886L;
 
@@ -101,4 +113,116 @@ public class JSAgentWaiterList {
 
     }
 
+    /**
+     * A single (synchronous or asynchronous) waiter in a {@link JSAgentWaiterListEntry}. Apart from
+     * {@link #isNotified()}, a record is only modified while the lock of its waiter list is held.
+     */
+    public static final class WaiterRecord {
+
+        public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+        private final JSAgent agent;
+        private final Thread thread;
+        private final PromiseCapabilityRecord promiseCapability;
+        private final JSAgentWaiterListEntry waiterList;
+        private final long deadline;
+        private volatile boolean notified;
+        private Future<?> timeoutTask;
+
+        private WaiterRecord(JSAgent agent, Thread thread, PromiseCapabilityRecord promiseCapability, JSAgentWaiterListEntry waiterList, long deadline) {
+            this.agent = agent;
+            this.thread = thread;
+            this.promiseCapability = promiseCapability;
+            this.waiterList = waiterList;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Creates a record for an agent blocked in {@code Atomics.wait} on the current thread.
+         */
+        public static WaiterRecord createSync(JSAgent agent, JSAgentWaiterListEntry waiterList, double timeout) {
+            return new WaiterRecord(agent, Thread.currentThread(), null, waiterList, computeDeadline(timeout));
+        }
+
+        /**
+         * Creates a record for a promise returned by {@code Atomics.waitAsync}.
+         */
+        public static WaiterRecord createAsync(JSAgent agent, JSAgentWaiterListEntry waiterList, double timeout, PromiseCapabilityRecord promiseCapability) {
+            return new WaiterRecord(agent, null, promiseCapability, waiterList, computeDeadline(timeout));
+        }
+
+        private static long computeDeadline(double timeout) {
+            assert timeout >= 0;
+            if (Double.isInfinite(timeout) || timeout >= Long.MAX_VALUE / 1_000_000L) {
+                return NO_DEADLINE;
+            }
+            return System.nanoTime() + (long) (timeout * 1_000_000L);
+        }
+
+        public JSAgent getAgent() {
+            return agent;
+        }
+
+        public boolean isAsync() {
+            return promiseCapability != null;
+        }
+
+        public PromiseCapabilityRecord getPromiseCapability() {
+            return promiseCapability;
+        }
+
+        public JSAgentWaiterListEntry getWaiterList() {
+            return waiterList;
+        }
+
+        public boolean isNotified() {
+            return notified;
+        }
+
+        /**
+         * Remaining time until the deadline in nanoseconds, {@link #NO_DEADLINE} if the waiter
+         * waits forever.
+         */
+        public long remainingNanos(long now) {
+            if (deadline == NO_DEADLINE) {
+                return NO_DEADLINE;
+            }
+            return deadline - now;
+        }
+
+        public boolean hasTimedOut(long now) {
+            return remainingNanos(now) <= 0;
+        }
+
+        /**
+         * Sets the task that wakes up the agent of an asynchronous waiter when its timeout elapses.
+         */
+        void setTimeoutTask(Future<?> task) {
+            assert isAsync() && timeoutTask == null;
+            this.timeoutTask = task;
+        }
+
+        void cancelTimeoutTask() {
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+                timeoutTask = null;
+            }
+        }
+
+        /**
+         * Marks the waiter as notified and unparks its thread (if it is a blocking waiter) or wakes
+         * up its agent (if it is an asynchronous waiter). Must be called after the record has been
+         * removed from its waiter list.
+         */
+        @TruffleBoundary
+        public void notifyWaiter() {
+            assert !waiterList.contains(this);
+            notified = true;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            } else {
+                agent.wakeAgent();
+            }
+        }
+    }
 }
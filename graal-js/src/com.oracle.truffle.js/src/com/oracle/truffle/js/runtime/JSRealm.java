@@ -53,12 +53,14 @@ import java.util.Objects;
 import java.util.SplittableRandom;
 import java.util.TimeZone;
 import java.util.WeakHashMap;
+import java.util.function.Supplier;
 
 import com.oracle.truffle.js.builtins.commonjs.CommonJSRequireBuiltin;
 import com.oracle.truffle.js.builtins.commonjs.GlobalCommonJSRequireBuiltins;
 import org.graalvm.home.HomeFinder;
 import org.graalvm.options.OptionValues;
 
+import com.oracle.js.parser.ir.Module;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -78,6 +80,7 @@ import com.oracle.truffle.js.builtins.ConsoleBuiltins;
 import com.oracle.truffle.js.builtins.ConstructorBuiltins;
 import com.oracle.truffle.js.builtins.DebugBuiltins;
 import com.oracle.truffle.js.builtins.GlobalBuiltins;
+import com.oracle.truffle.js.builtins.GraalBuiltins;
 import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
 import com.oracle.truffle.js.builtins.JavaBuiltins;
 import com.oracle.truffle.js.builtins.MapIteratorPrototypeBuiltins;
@@ -169,6 +172,7 @@ public class JSRealm {
     public static final String JAVA_CLASS_NAME = "Java";
     public static final String JAVA_CLASS_NAME_NASHORN_COMPAT = "JavaNashornCompat";
     public static final String PERFORMANCE_CLASS_NAME = "performance";
+    public static final String GRAAL_CLASS_NAME = "Graal";
     public static final String DEBUG_CLASS_NAME = "Debug";
     public static final String CONSOLE_CLASS_NAME = "Console";
 
@@ -1362,7 +1366,8 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(context, graalObject, "versionGraalVM", GRAALVM_VERSION, flags);
         JSObjectUtil.putDataProperty(context, graalObject, "versionJS", GRAALVM_VERSION, flags);
         JSObjectUtil.putDataProperty(context, graalObject, "isGraalRuntime", JSFunction.create(this, isGraalRuntimeFunction(context)), flags);
-        putGlobalProperty("Graal", graalObject);
+        JSObjectUtil.putFunctionsFromContainer(this, graalObject, GraalBuiltins.BUILTINS);
+        putGlobalProperty(GRAAL_CLASS_NAME, graalObject);
     }
 
     private static JSFunctionData isGraalRuntimeFunction(JSContext context) {
@@ -1937,6 +1942,7 @@ public class JSRealm {
         if (moduleLoader == null) {
             moduleLoader = new JSModuleLoader() {
                 private final Map<String, JSModuleRecord> moduleMap = new HashMap<>();
+                private final Map<String, Supplier<JSModuleRecord>> pendingModules = new HashMap<>();
 
                 @Override
                 public JSModuleRecord resolveImportedModule(ScriptOrModule referrer, String specifier) {
@@ -1955,9 +1961,22 @@ public class JSRealm {
                         if (existingModule != null) {
                             return existingModule;
                         }
-                        Source source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(specifier).build();
-                        JSModuleRecord newModule = getContext().getEvaluator().parseModule(getContext(), source, this);
+                        Supplier<JSModuleRecord> pendingModule = pendingModules.remove(canonicalPath);
+                        JSModuleRecord newModule;
+                        try {
+                            if (pendingModule != null) {
+                                newModule = pendingModule.get();
+                            } else {
+                                Source source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(specifier).build();
+                                newModule = getContext().getEvaluator().parseModule(getContext(), source, this);
+                            }
+                        } catch (RuntimeException e) {
+                            // the module graph is abandoned, its other parses could become stale
+                            pendingModules.clear();
+                            throw e;
+                        }
                         moduleMap.put(canonicalPath, newModule);
+                        parseRequestedModulesInBackground(newModule);
                         return newModule;
                     } catch (IOException | SecurityException e) {
                         throw Errors.createErrorFromException(e);
@@ -1979,7 +1998,43 @@ public class JSRealm {
                             throw Errors.createErrorFromException(e);
                         }
                     }
-                    return moduleMap.computeIfAbsent(canonicalPath, (key) -> getContext().getEvaluator().parseModule(getContext(), source, this));
+                    JSModuleRecord existingModule = moduleMap.get(canonicalPath);
+                    if (existingModule != null) {
+                        return existingModule;
+                    }
+                    JSModuleRecord newModule = getContext().getEvaluator().parseModule(getContext(), source, this);
+                    moduleMap.put(canonicalPath, newModule);
+                    parseRequestedModulesInBackground(newModule);
+                    return newModule;
+                }
+
+                /**
+                 * Starts parsing the modules requested by a freshly parsed module, so that they are
+                 * ready (or almost) by the time they are resolved. Errors are ignored here and
+                 * reported by {@link #resolveImportedModule} instead.
+                 */
+                private void parseRequestedModulesInBackground(JSModuleRecord module) {
+                    if (!JSTruffleOptions.ParallelModuleParsing) {
+                        return;
+                    }
+                    String refPath = module.getSource().getPath();
+                    if (refPath == null) {
+                        return;
+                    }
+                    for (String specifier : ((Module) module.getModule()).getRequestedModules()) {
+                        try {
+                            TruffleFile moduleFile = getEnv().getPublicTruffleFile(refPath).resolveSibling(specifier).getCanonicalFile();
+                            String canonicalPath = moduleFile.getPath();
+                            if (moduleMap.containsKey(canonicalPath) || pendingModules.containsKey(canonicalPath)) {
+                                continue;
+                            }
+                            // named after the specifier, like the modules parsed by resolveImportedModule
+                            Source source = Source.newBuilder(JavaScriptLanguage.ID, moduleFile).name(specifier).build();
+                            pendingModules.put(canonicalPath, getContext().getEvaluator().parseModuleInBackground(getContext(), source, this));
+                        } catch (IOException | SecurityException e) {
+                            // reported when the module is resolved
+                        }
+                    }
                 }
             };
         }
@@ -78,8 +78,10 @@ import com.oracle.truffle.js.runtime.builtins.JSUserObject;
 import com.oracle.truffle.js.runtime.doubleconv.DoubleConversion;
 import com.oracle.truffle.js.runtime.external.DToA;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyReference;
@@ -1301,6 +1303,10 @@ public final class JSRuntime {
             return ((JSLazyString) obj).toString();
         } else if (obj instanceof PropertyReference) {
             return ((PropertyReference) obj).toString();
+        } else if (obj instanceof JSExternalString) {
+            return ((JSExternalString) obj).toString();
+        } else if (obj instanceof JSSlicedString) {
+            return ((JSSlicedString) obj).toString();
         }
         return Boundaries.javaToString(obj);
     }
@@ -1416,7 +1422,7 @@ public final class JSRuntime {
             return JSString.create(ctx, (JSLazyString) value);
         } else if (value instanceof BigInt) {
             return JSBigInt.create(ctx, (BigInt) value);
-        } else if (value instanceof PropertyReference) {
+        } else if (value instanceof PropertyReference || value instanceof JSExternalString || value instanceof JSSlicedString) {
             return JSString.create(ctx, value.toString());
         } else if (isNumber(value)) {
             return JSNumber.create(ctx, (Number) value);
@@ -1513,8 +1519,8 @@ public final class JSRuntime {
     }
 
     public static boolean isForeignObject(TruffleObject value) {
-        return !JSObject.isJSObject(value) && !(value instanceof Symbol) && !(value instanceof JSLazyString) && !(value instanceof LargeInteger) &&
-                        !(value instanceof BigInt);
+        return !JSObject.isJSObject(value) && !(value instanceof Symbol) && !(value instanceof JSLazyString) && !(value instanceof JSExternalString) &&
+                        !(value instanceof JSSlicedString) && !(value instanceof LargeInteger) && !(value instanceof BigInt);
     }
 
     private static boolean equalInterop(Object a, Object b) {
@@ -1892,7 +1898,7 @@ public final class JSRuntime {
             return (String) value;
         } else {
             assert isLazyString(value);
-            return ((JSLazyString) value).toString();
+            return ((CharSequence) value).toString();
         }
     }
 
@@ -1900,11 +1906,12 @@ public final class JSRuntime {
      * Is value is a {@link CharSequence} that lazily evaluates to a {@link String}).
      */
     public static boolean isLazyString(Object value) {
-        return value instanceof JSLazyString || value instanceof PropertyReference;
+        return value instanceof JSLazyString || value instanceof PropertyReference || value instanceof JSExternalString || value instanceof JSSlicedString;
     }
 
     public static boolean isStringClass(Class<?> clazz) {
-        return String.class.isAssignableFrom(clazz) || JSLazyString.class.isAssignableFrom(clazz) || PropertyReference.class.isAssignableFrom(clazz);
+        return String.class.isAssignableFrom(clazz) || JSLazyString.class.isAssignableFrom(clazz) || PropertyReference.class.isAssignableFrom(clazz) ||
+                        JSExternalString.class.isAssignableFrom(clazz) || JSSlicedString.class.isAssignableFrom(clazz);
     }
 
     public static Object nullToUndefined(Object value) {
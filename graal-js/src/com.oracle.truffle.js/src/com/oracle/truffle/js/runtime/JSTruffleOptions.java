@@ -99,6 +99,9 @@ public final class JSTruffleOptions {
     public static final boolean RestrictForceSplittingBuiltins = booleanOption("RestrictForceSplittingBuiltins", true);
     public static final int MinLazyStringLength = integerOption("MinLazyStringLength", 20);
     public static final int ConcatToLeafLimit = integerOption("ConcatToLeafLimit", MinLazyStringLength / 2);
+    public static final boolean SlicedStrings = booleanOption("SlicedStrings", false);
+    public static final int MinSlicedStringLength = integerOption("MinSlicedStringLength", 16);
+    public static final boolean SkipTableStringSearch = booleanOption("SkipTableStringSearch", false);
     public static final int MaxCompiledRegexCacheLength = integerOption("MaxCompiledRegexCacheLength", 4);
     public static final boolean TrimCompiledRegexCache = booleanOption("TrimCompiledRegexCache", true);
     public static final int StackTraceLimit = integerOption("StackTraceLimit", 10);
@@ -173,6 +176,8 @@ public final class JSTruffleOptions {
     public static final boolean LazyFunctionData = booleanOption("LazyFunctionData", true);
     /** Translate function bodies lazily. */
     public static final boolean LazyTranslation = booleanOption("LazyTranslation", false);
+    /** Parse the modules imported by a module on background threads. */
+    public static final boolean ParallelModuleParsing = booleanOption("ParallelModuleParsing", false);
     /** AST-level inlining of trivial built-in functions (e.g. String.prototype.charAt). */
     public static final boolean InlineTrivialBuiltins = booleanOption("InlineTrivialBuiltins", true);
     /** [Construct] as part of the CallTarget names. Off by default (footprint). */
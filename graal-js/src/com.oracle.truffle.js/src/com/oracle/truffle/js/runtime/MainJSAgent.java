@@ -59,9 +59,14 @@ public final class MainJSAgent extends JSAgent {
         // No-op
     }
 
+    /**
+     * No-op: the main thread belongs to the embedder and has no event loop to post to. The
+     * promises of notified or timed-out {@code Atomics.waitAsync} waiters are therefore settled
+     * when the embedder calls into the context again, i.e., with the promise jobs that are
+     * processed at the end of that call.
+     */
     @Override
-    public void wakeAgent(int w) {
-        // No-op
+    public void wakeAgent() {
     }
 
 }
@@ -45,10 +45,13 @@ import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArra
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetByteBuffer;
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetLength;
 import static com.oracle.truffle.js.runtime.builtins.JSArrayBufferView.typedArrayGetOffset;
+import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
@@ -148,6 +151,56 @@ public abstract class TypedArray extends ScriptArray {
         return isDirect() ? getByteBuffer(object, condition) : getByteArray(object, condition);
     }
 
+    /**
+     * Copies {@code byteLength} bytes between two backing buffers ({@code byte[]} or direct
+     * {@link ByteBuffer}, as returned by {@link #getBufferFromTypedArray}) using bulk operations.
+     */
+    public static void copyBytes(Object source, int sourceByteIndex, Object target, int targetByteIndex, int byteLength) {
+        if (source instanceof byte[] && target instanceof byte[]) {
+            System.arraycopy(source, sourceByteIndex, target, targetByteIndex, byteLength);
+        } else {
+            copyBytesBuffer(source, sourceByteIndex, target, targetByteIndex, byteLength);
+        }
+    }
+
+    @TruffleBoundary
+    private static void copyBytesBuffer(Object source, int sourceByteIndex, Object target, int targetByteIndex, int byteLength) {
+        if (source instanceof byte[]) {
+            ByteBuffer targetBuffer = ((ByteBuffer) target).duplicate();
+            asBaseBuffer(targetBuffer).position(targetByteIndex);
+            targetBuffer.put((byte[]) source, sourceByteIndex, byteLength);
+        } else if (target instanceof byte[]) {
+            ByteBuffer sourceBuffer = ((ByteBuffer) source).duplicate();
+            asBaseBuffer(sourceBuffer).position(sourceByteIndex);
+            sourceBuffer.get((byte[]) target, targetByteIndex, byteLength);
+        } else {
+            ByteBuffer sourceBuffer = ((ByteBuffer) source).duplicate();
+            asBaseBuffer(sourceBuffer).position(sourceByteIndex).limit(sourceByteIndex + byteLength);
+            ByteBuffer targetBuffer = ((ByteBuffer) target).duplicate();
+            asBaseBuffer(targetBuffer).position(targetByteIndex);
+            targetBuffer.put(sourceBuffer.slice());
+        }
+    }
+
+    /**
+     * Replicates the element of {@code elementSize} bytes stored at {@code byteIndex} over the
+     * following {@code byteLength - elementSize} bytes of the backing buffer, doubling the copied
+     * range in each step.
+     */
+    public static void fillBytes(Object buffer, int byteIndex, int elementSize, int byteLength) {
+        if (elementSize == 1 && buffer instanceof byte[]) {
+            byte[] array = (byte[]) buffer;
+            Arrays.fill(array, byteIndex + 1, byteIndex + byteLength, array[byteIndex]);
+            return;
+        }
+        int filled = elementSize;
+        while (filled < byteLength) {
+            int chunk = Math.min(filled, byteLength - filled);
+            copyBytes(buffer, byteIndex, buffer, byteIndex + filled, chunk);
+            filled += chunk;
+        }
+    }
+
     protected final int getOffset(DynamicObject object, boolean condition) {
         if (offset) {
             return typedArrayGetOffset(object, condition);
@@ -61,10 +61,12 @@ import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.JSShape;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.JSHashMap;
 
@@ -104,6 +106,10 @@ public final class JSSet extends JSBuiltinObject implements JSConstructorFactory
             return normalizeDouble((Double) value);
         } else if (value instanceof JSLazyString) {
             return ((JSLazyString) value).toString();
+        } else if (value instanceof JSExternalString) {
+            return ((JSExternalString) value).toString();
+        } else if (value instanceof JSSlicedString) {
+            return ((JSSlicedString) value).toString();
         }
         return value;
     }
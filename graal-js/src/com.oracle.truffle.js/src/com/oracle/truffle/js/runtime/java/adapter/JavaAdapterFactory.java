@@ -47,6 +47,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
@@ -61,6 +63,18 @@ import com.oracle.truffle.js.runtime.JSRuntime;
  */
 public final class JavaAdapterFactory {
 
+    /**
+     * JVM-wide cache of generated adapters, attached to an adapted type that is defined by the
+     * common class loader of the adapter. The cache entries (which reference the common loader)
+     * thus do not keep any class loader alive that would not be reachable from that type anyway.
+     */
+    private static final ClassValue<Map<AdapterKey, AdapterInfo>> ADAPTER_INFOS = new ClassValue<Map<AdapterKey, AdapterInfo>>() {
+        @Override
+        protected Map<AdapterKey, AdapterInfo> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     @TruffleBoundary
     public static Class<?> getAdapterClassFor(Class<?>[] types, DynamicObject classOverrides) {
         return getAdapterClassFor(types, classOverrides, null);
@@ -121,11 +135,47 @@ public final class JavaAdapterFactory {
 
     private static Class<?> getAdapterClassForCommon(Class<?> superClass, List<Class<?>> interfaces, DynamicObject classOverrides, ClassLoader commonLoader) {
         boolean classOverride = classOverrides != null && JSRuntime.isObject(classOverrides);
-        JavaAdapterBytecodeGenerator bytecodeGenerator = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride);
-        JavaAdapterClassLoader generatedClassLoader = bytecodeGenerator.createAdapterClassLoader();
+        Class<?> cacheOwner = getCacheOwner(superClass, interfaces, commonLoader);
+        AdapterInfo adapterInfo;
+        if (cacheOwner != null) {
+            adapterInfo = getAdapterInfo(cacheOwner, superClass, interfaces, classOverride, commonLoader);
+        } else {
+            // an explicitly provided class loader that defines none of the types is not cached
+            adapterInfo = createAdapterInfo(superClass, interfaces, classOverride, commonLoader);
+        }
+        if (classOverride) {
+            // class-level overrides are baked into the class, so every call needs a new class
+            Value classOverridesValue = Context.getCurrent().asValue(classOverrides);
+            return adapterInfo.generatedClassLoader.generateClass(commonLoader, classOverridesValue);
+        } else {
+            return adapterInfo.getInstanceAdapterClass(commonLoader);
+        }
+    }
 
-        Value classOverridesValue = classOverride ? Context.getCurrent().asValue(classOverrides) : null;
-        return generatedClassLoader.generateClass(commonLoader, classOverridesValue);
+    /**
+     * Returns one of the adapted types that is defined by the common class loader, or {@code null}
+     * if there is no such type.
+     */
+    private static Class<?> getCacheOwner(Class<?> superClass, List<Class<?>> interfaces, ClassLoader commonLoader) {
+        if (superClass.getClassLoader() == commonLoader) {
+            return superClass;
+        }
+        for (Class<?> type : interfaces) {
+            if (type.getClassLoader() == commonLoader) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static AdapterInfo getAdapterInfo(Class<?> cacheOwner, Class<?> superClass, List<Class<?>> interfaces, boolean classOverride, ClassLoader commonLoader) {
+        AdapterKey key = new AdapterKey(superClass, interfaces, classOverride, commonLoader);
+        return ADAPTER_INFOS.get(cacheOwner).computeIfAbsent(key, k -> createAdapterInfo(superClass, interfaces, classOverride, commonLoader));
+    }
+
+    private static AdapterInfo createAdapterInfo(Class<?> superClass, List<Class<?>> interfaces, boolean classOverride, ClassLoader commonLoader) {
+        JavaAdapterBytecodeGenerator bytecodeGenerator = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride);
+        return new AdapterInfo(bytecodeGenerator.createAdapterClassLoader());
     }
 
     @TruffleBoundary
@@ -177,4 +227,62 @@ public final class JavaAdapterFactory {
         }
         throw Errors.createTypeErrorFormat("Could not determine a class loader that can see all types: %s", Arrays.toString(types));
     }
+
+    private static final class AdapterKey {
+        private final Class<?> superClass;
+        private final List<Class<?>> interfaces;
+        private final boolean classOverride;
+        private final ClassLoader commonLoader;
+
+        AdapterKey(Class<?> superClass, List<Class<?>> interfaces, boolean classOverride, ClassLoader commonLoader) {
+            this.superClass = superClass;
+            this.interfaces = interfaces;
+            this.classOverride = classOverride;
+            this.commonLoader = commonLoader;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AdapterKey)) {
+                return false;
+            }
+            AdapterKey other = (AdapterKey) obj;
+            return superClass == other.superClass && classOverride == other.classOverride && commonLoader == other.commonLoader && interfaces.equals(other.interfaces);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(superClass, interfaces, classOverride, System.identityHashCode(commonLoader));
+        }
+    }
+
+    private static final class AdapterInfo {
+        final JavaAdapterClassLoader generatedClassLoader;
+        private volatile Class<?> instanceAdapterClass;
+
+        AdapterInfo(JavaAdapterClassLoader generatedClassLoader) {
+            this.generatedClassLoader = generatedClassLoader;
+        }
+
+        /**
+         * Adapters without class-level overrides do not depend on any context state, so the loaded
+         * class can be shared by all contexts.
+         */
+        Class<?> getInstanceAdapterClass(ClassLoader commonLoader) {
+            Class<?> adapterClass = instanceAdapterClass;
+            if (adapterClass == null) {
+                synchronized (this) {
+                    adapterClass = instanceAdapterClass;
+                    if (adapterClass == null) {
+                        adapterClass = generatedClassLoader.generateClass(commonLoader, null);
+                        instanceAdapterClass = adapterClass;
+                    }
+                }
+            }
+            return adapterClass;
+        }
+    }
 }
@@ -70,4 +70,41 @@ public final class PatternAnalyzer {
         return false;
     }
 
+    /**
+     * Returns the string matched by the given pattern if the pattern is a non-empty sequence of
+     * plain and escaped syntax characters, otherwise {@code null}. The result is only valid for
+     * patterns without the ignoreCase and unicode flags.
+     */
+    public static String literalString(String pattern) {
+        if (pattern.isEmpty()) {
+            return null;
+        }
+        StringBuilder literal = null;
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\\') {
+                if (i + 1 == pattern.length() || !isEscapableLiteral(pattern.charAt(i + 1))) {
+                    return null;
+                }
+                if (literal == null) {
+                    literal = new StringBuilder(pattern.length());
+                    literal.append(pattern, 0, i);
+                }
+                literal.append(pattern.charAt(++i));
+            } else if (isSyntaxCharacter(ch)) {
+                return null;
+            } else if (literal != null) {
+                literal.append(ch);
+            }
+        }
+        return literal == null ? pattern : literal.toString();
+    }
+
+    private static boolean isSyntaxCharacter(char ch) {
+        return "^$\\.*+?()[]{}|".indexOf(ch) >= 0;
+    }
+
+    private static boolean isEscapableLiteral(char ch) {
+        return isSyntaxCharacter(ch) || ch == '/' || ch == '-';
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+/**
+ * String whose one-byte (Latin-1) or two-byte (UTF-16) content lives in (off-heap) memory owned by
+ * an embedder, e.g. a v8::String::ExternalStringResource in Node.js. The content is copied into a
+ * flat {@link String} only when an operation requires one. The flat copy is softly reachable, i.e.
+ * it does not keep the content duplicated on the Java heap when the memory is needed elsewhere.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class JSExternalString implements CharSequence, TruffleObject {
+
+    private final ByteBuffer buffer;
+    private final boolean oneByte;
+    private final int length;
+    private Reference<String> flattened;
+
+    private JSExternalString(ByteBuffer buffer, boolean oneByte) {
+        this.buffer = buffer;
+        this.oneByte = oneByte;
+        this.length = oneByte ? buffer.capacity() : buffer.capacity() / 2;
+    }
+
+    /**
+     * Creates an external string over the given buffer.
+     *
+     * @param buffer buffer with the content of the string; it must not be modified while the string
+     *            is reachable
+     * @param oneByte whether the content is one-byte (Latin-1) or two-byte (UTF-16 in native byte
+     *            order) encoded
+     */
+    public static JSExternalString create(ByteBuffer buffer, boolean oneByte) {
+        return new JSExternalString(buffer.duplicate().order(ByteOrder.nativeOrder()), oneByte);
+    }
+
+    public boolean isOneByte() {
+        return oneByte;
+    }
+
+    /**
+     * Returns the buffer over the content of this string, i.e., over the memory of the embedder.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return oneByte ? (char) (buffer.get(index) & 0xff) : buffer.getChar(index << 1);
+    }
+
+    @Override
+    @TruffleBoundary
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException();
+        }
+        String flat = getFlattenedOrNull();
+        if (flat != null) {
+            return flat.substring(start, end);
+        }
+        return copy(start, end);
+    }
+
+    /**
+     * Copies characters from this string into the destination character array, reading the
+     * external memory directly.
+     */
+    @TruffleBoundary
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        String flat = getFlattenedOrNull();
+        if (flat != null) {
+            flat.getChars(srcBegin, srcEnd, dst, dstBegin);
+            return;
+        }
+        int d = dstBegin;
+        if (oneByte) {
+            for (int i = srcBegin; i < srcEnd; i++) {
+                dst[d++] = (char) (buffer.get(i) & 0xff);
+            }
+        } else {
+            for (int i = srcBegin; i < srcEnd; i++) {
+                dst[d++] = buffer.getChar(i << 1);
+            }
+        }
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        String flat = getFlattenedOrNull();
+        if (flat == null) {
+            flat = copy(0, length);
+            flattened = new SoftReference<>(flat);
+        }
+        return flat;
+    }
+
+    private String getFlattenedOrNull() {
+        Reference<String> ref = flattened;
+        return (ref == null) ? null : ref.get();
+    }
+
+    private String copy(int start, int end) {
+        if (oneByte) {
+            byte[] bytes = new byte[end - start];
+            ByteBuffer view = buffer.duplicate();
+            view.position(start);
+            view.get(bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        } else {
+            char[] chars = new char[end - start];
+            getChars(start, end, chars, 0);
+            return new String(chars);
+        }
+    }
+
+    public static boolean isInstance(TruffleObject object) {
+        return object instanceof JSExternalString;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    boolean isString() {
+        return true;
+    }
+
+    @ExportMessage
+    String asString() {
+        return toString();
+    }
+}
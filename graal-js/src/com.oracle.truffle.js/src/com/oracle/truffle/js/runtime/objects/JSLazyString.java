@@ -252,6 +252,12 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
             } else if (str instanceof String) {
                 ((String) str).getChars(from, to, dst, dstFrom);
                 return;
+            } else if (str instanceof JSExternalString) {
+                ((JSExternalString) str).getChars(from, to, dst, dstFrom);
+                return;
+            } else if (str instanceof JSSlicedString) {
+                ((JSSlicedString) str).getChars(from, to, dst, dstFrom);
+                return;
             } else {
                 assert JSRuntime.isString(str) || str instanceof JSLazyIntWrapper;
                 str.toString().getChars(from, to, dst, dstFrom);
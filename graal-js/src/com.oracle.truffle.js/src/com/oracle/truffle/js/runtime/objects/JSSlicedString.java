@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.objects;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+
+/**
+ * Substring that refers to the characters of its parent string instead of copying them. The
+ * content is copied into a flat {@link String} (and the parent released) only when an operation
+ * requires one.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class JSSlicedString implements CharSequence, TruffleObject {
+
+    /**
+     * The parent string, or the flattened content. A sliced string is always shorter than its
+     * parent, so the string is flat iff it is exactly {@link #length} characters long. This single
+     * field is the only mutable state, so that a racing reader always sees a consistent view.
+     */
+    private String string;
+    private final int offset;
+    private final int length;
+
+    private JSSlicedString(String parent, int offset, int length) {
+        assert offset >= 0 && length > 0 && offset + length <= parent.length() && length < parent.length();
+        this.string = parent;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a view of {@code parent} from {@code start} to {@code end}, which must be a proper,
+     * non-empty substring.
+     */
+    public static JSSlicedString create(String parent, int start, int end) {
+        return new JSSlicedString(parent, start, end - start);
+    }
+
+    /**
+     * Returns the substring of {@code parent} from {@code start} to {@code end}. It is a view of
+     * {@code parent} if it is long enough and at least half as long as {@code parent}, i.e. if
+     * it would not keep a much larger string alive on its own.
+     */
+    @TruffleBoundary
+    public static CharSequence substring(String parent, int start, int end) {
+        return sharesParent(parent, end - start) ? part(parent, start, end) : parent.substring(start, end);
+    }
+
+    /**
+     * Returns true if substrings of {@code parent} that are {@code totalLength} characters long in
+     * total may be views of {@code parent}, i.e. if they would not keep a much larger string alive.
+     * Callers that create several substrings at once (e.g. {@code split}) pass the sum of their
+     * lengths and then create each of them with {@link #part}.
+     */
+    public static boolean sharesParent(String parent, int totalLength) {
+        return JSTruffleOptions.SlicedStrings && totalLength >= parent.length() / 2;
+    }
+
+    /**
+     * Returns the substring of {@code parent} from {@code start} to {@code end}. It is a view of
+     * {@code parent} if it is long enough and a proper substring. Whether views are worth
+     * retaining {@code parent} has to be decided with {@link #sharesParent} before.
+     */
+    @TruffleBoundary
+    public static CharSequence part(String parent, int start, int end) {
+        int sliceLength = end - start;
+        if (sliceLength >= JSTruffleOptions.MinSlicedStringLength && sliceLength < parent.length()) {
+            return create(parent, start, end);
+        }
+        return parent.substring(start, end);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    private int start(String str) {
+        return str.length() == length ? 0 : offset;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        String str = string;
+        return str.charAt(start(str) + index);
+    }
+
+    @Override
+    @TruffleBoundary
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException();
+        }
+        String str = string;
+        int base = start(str);
+        return str.substring(base + start, base + end);
+    }
+
+    /**
+     * Copies characters from this string into the destination character array, reading the parent
+     * string directly.
+     */
+    @TruffleBoundary
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        String str = string;
+        int base = start(str);
+        str.getChars(base + srcBegin, base + srcEnd, dst, dstBegin);
+    }
+
+    public boolean isFlat() {
+        return string.length() == length;
+    }
+
+    @Override
+    public String toString() {
+        String str = string;
+        if (str.length() != length) {
+            str = flatten(str);
+        }
+        return str;
+    }
+
+    @TruffleBoundary
+    private String flatten(String parent) {
+        String flat = parent.substring(offset, offset + length);
+        string = flat;
+        return flat;
+    }
+
+    public static boolean isInstance(TruffleObject object) {
+        return object instanceof JSSlicedString;
+    }
+
+    @SuppressWarnings("static-method")
+    @ExportMessage
+    boolean isString() {
+        return true;
+    }
+
+    @ExportMessage
+    String asString() {
+        return toString();
+    }
+}
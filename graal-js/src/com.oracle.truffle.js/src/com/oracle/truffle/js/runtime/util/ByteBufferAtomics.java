@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Atomic compare-and-exchange on byte buffers in native byte order, used by the {@code Atomics}
+ * built-ins on {@code SharedArrayBuffer}s. Bytes up to the {@link ByteBuffer#limit() limit} of the
+ * buffer can be accessed. This version is not lock-free: updates are only atomic with respect to
+ * other updates made by this class, so callers should use their own locking instead.
+ */
+public final class ByteBufferAtomics {
+    private ByteBufferAtomics() {
+    }
+
+    /**
+     * Returns {@code true} if the {@code size}-byte word at {@code byteIndex} can be updated with
+     * the methods of this class without locking.
+     */
+    @SuppressWarnings("unused")
+    public static boolean isLockFree(ByteBuffer buffer, int byteIndex, int size) {
+        return false;
+    }
+
+    /**
+     * Atomically replaces the 32-bit word at {@code byteIndex} if it is equal to {@code expected}.
+     *
+     * @return the previous value (equal to {@code expected} on success)
+     */
+    @TruffleBoundary
+    public static int compareAndExchangeInt32(ByteBuffer buffer, int byteIndex, int expected, int replacement) {
+        boolean swap = buffer.order() != ByteOrder.nativeOrder();
+        synchronized (ByteBufferAtomics.class) {
+            int witness = buffer.getInt(byteIndex);
+            if (swap) {
+                witness = Integer.reverseBytes(witness);
+            }
+            if (witness == expected) {
+                buffer.putInt(byteIndex, swap ? Integer.reverseBytes(replacement) : replacement);
+            }
+            return witness;
+        }
+    }
+
+    /**
+     * Atomically replaces the 64-bit word at {@code byteIndex} if it is equal to {@code expected}.
+     *
+     * @return the previous value (equal to {@code expected} on success)
+     */
+    @TruffleBoundary
+    public static long compareAndExchangeInt64(ByteBuffer buffer, int byteIndex, long expected, long replacement) {
+        boolean swap = buffer.order() != ByteOrder.nativeOrder();
+        synchronized (ByteBufferAtomics.class) {
+            long witness = buffer.getLong(byteIndex);
+            if (swap) {
+                witness = Long.reverseBytes(witness);
+            }
+            if (witness == expected) {
+                buffer.putLong(byteIndex, swap ? Long.reverseBytes(replacement) : replacement);
+            }
+            return witness;
+        }
+    }
+}
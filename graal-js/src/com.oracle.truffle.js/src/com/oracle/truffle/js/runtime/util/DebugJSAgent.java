@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import org.graalvm.options.OptionDescriptor;
 import org.graalvm.options.OptionValues;
@@ -70,6 +71,8 @@ public class DebugJSAgent extends JSAgent {
 
     private boolean quit;
     private Object debugReceiveBroadcast;
+    /** The event loop thread of a spawned agent, {@code null} for the main agent. */
+    private volatile Thread agentThread;
 
     @TruffleBoundary
     public DebugJSAgent(boolean canBlock, OptionValues optionValues) {
@@ -102,19 +105,16 @@ public class DebugJSAgent extends JSAgent {
                     DebugJSAgent debugJSAgent = (DebugJSAgent) JavaScriptLanguage.getCurrentJSRealm().getContext().getJSAgent();
                     AgentExecutor executor = registerChildAgent(Thread.currentThread(), debugJSAgent);
 
+                    debugJSAgent.agentThread = Thread.currentThread();
                     polyglotContext.eval(JavaScriptLanguage.ID, source);
 
                     barrier.countDown();
 
-                    while (true) {
-                        try {
-                            Thread.sleep(1000);
-                        } catch (InterruptedException e) {
-                            executor.executeBroadcastCallback();
-                        }
-                        if (executor.jsAgent.quit) {
-                            return;
-                        }
+                    // wake-ups are not lost: unpark() before park() makes park() return at once
+                    while (!debugJSAgent.quit) {
+                        LockSupport.park(debugJSAgent);
+                        executor.executeBroadcastCallback();
+                        debugJSAgent.processAllPromises();
                     }
                 } finally {
                     polyglotContext.leave();
@@ -183,11 +183,10 @@ public class DebugJSAgent extends JSAgent {
 
     @Override
     @TruffleBoundary
-    public void wakeAgent(int w) {
-        for (AgentExecutor e : spawnedAgent) {
-            if (e.jsAgent.getSignifier() == w) {
-                e.thread.interrupt();
-            }
+    public void wakeAgent() {
+        Thread thread = agentThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
         }
     }
 
@@ -208,13 +207,13 @@ public class DebugJSAgent extends JSAgent {
         @TruffleBoundary
         private void pushMessage(Object sab) {
             incoming.add(sab);
-            thread.interrupt();
+            LockSupport.unpark(thread);
         }
 
         @TruffleBoundary
         public void executeBroadcastCallback() {
-            assert jsAgent.debugReceiveBroadcast != null;
             while (incoming.size() > 0) {
+                assert jsAgent.debugReceiveBroadcast != null;
                 DynamicObject cb = (DynamicObject) jsAgent.debugReceiveBroadcast;
                 JSFunction.call(cb, cb, new Object[]{incoming.pop()});
             }
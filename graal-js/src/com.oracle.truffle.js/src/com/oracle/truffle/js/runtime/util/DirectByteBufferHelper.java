@@ -61,6 +61,14 @@ public final class DirectByteBufferHelper {
         return cast(allocateDirectImpl(length));
     }
 
+    /**
+     * Returns true if the buffer has the exact class assumed by {@link #cast}, i.e., if it is a
+     * writable direct buffer (read-only direct buffers have a different class).
+     */
+    public static boolean isDirectByteBuffer(ByteBuffer buffer) {
+        return buffer.getClass() == DIRECT_BYTE_BUFFER_CLASS;
+    }
+
     public static ByteBuffer cast(ByteBuffer buffer) {
         return CompilerDirectives.castExact(buffer, DIRECT_BYTE_BUFFER_CLASS);
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Assembles a string of a known length in a single {@code char[]}, without the intermediate
+ * copies of a growing {@link StringBuilder}. Integers are written as decimal digits directly,
+ * without creating a string for them first.
+ */
+public final class PresizedStringBuilder {
+    private final char[] chars;
+    private int position;
+
+    public PresizedStringBuilder(int length) {
+        this.chars = new char[length];
+    }
+
+    /**
+     * Returns the length of the decimal representation of the given integer.
+     */
+    public static int stringLength(int value) {
+        int length = 1;
+        long remaining = value;
+        if (remaining < 0) {
+            length++;
+            remaining = -remaining;
+        }
+        while (remaining >= 10) {
+            length++;
+            remaining /= 10;
+        }
+        return length;
+    }
+
+    @TruffleBoundary
+    public void append(String str) {
+        int length = str.length();
+        str.getChars(0, length, chars, position);
+        position += length;
+    }
+
+    public void append(int value) {
+        int end = position + stringLength(value);
+        long remaining = value;
+        if (remaining < 0) {
+            chars[position] = '-';
+            remaining = -remaining;
+        }
+        int index = end;
+        do {
+            chars[--index] = (char) ('0' + (remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        position = end;
+    }
+
+    public int length() {
+        return position;
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        assert position == chars.length;
+        return new String(chars);
+    }
+}
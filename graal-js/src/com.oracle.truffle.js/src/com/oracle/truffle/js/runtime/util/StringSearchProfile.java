@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.NodeCloneable;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.js.runtime.JSTruffleOptions;
+
+/**
+ * A replacement for {@link String#indexOf(String, int)} that searches for long patterns in long
+ * strings with a Boyer-Moore-Horspool skip table. The table of the most recently searched pattern
+ * is cached, so a call site that repeatedly searches for the same string builds it only once. Once
+ * a call site searches for a different pattern, it uses {@link String#indexOf(String, int)} for
+ * good. Short patterns and short strings are left to {@link String#indexOf(String, int)} as well.
+ *
+ * The skip table is only used with {@link JSTruffleOptions#SkipTableStringSearch}; by default,
+ * this profile always delegates to the intrinsified {@link String#indexOf(String, int)}.
+ */
+public final class StringSearchProfile extends NodeCloneable {
+    /*
+     * Conservative estimates, not tuned by benchmarks: below them, building the table is unlikely
+     * to pay off against the intrinsic of String.indexOf.
+     */
+    static final int MIN_PATTERN_LENGTH = 32;
+    static final int MIN_STRING_LENGTH = 1024;
+
+    private final ConditionProfile useSkipTable = ConditionProfile.createBinaryProfile();
+    @CompilationFinal private boolean generic;
+    private SkipTable cachedSkipTable;
+
+    private StringSearchProfile() {
+    }
+
+    public static StringSearchProfile create() {
+        return new StringSearchProfile();
+    }
+
+    public int indexOf(String str, String pattern, int fromIndex) {
+        if (JSTruffleOptions.SkipTableStringSearch && !generic && useSkipTable.profile(pattern.length() >= MIN_PATTERN_LENGTH && str.length() - fromIndex >= MIN_STRING_LENGTH)) {
+            SkipTable skipTable = cachedSkipTable;
+            if (skipTable == null) {
+                skipTable = SkipTable.create(pattern);
+                cachedSkipTable = skipTable;
+            } else if (!skipTable.matchesPattern(pattern)) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                generic = true;
+                cachedSkipTable = null;
+                return str.indexOf(pattern, fromIndex);
+            }
+            return skipTable.indexOf(str, Math.max(fromIndex, 0));
+        }
+        return str.indexOf(pattern, fromIndex);
+    }
+
+    @Override
+    protected Object clone() {
+        return new StringSearchProfile();
+    }
+
+    /**
+     * Horspool's shift table over the low byte of each character: the shift of a bucket is the
+     * smallest shift of any pattern character that falls into it.
+     */
+    private static final class SkipTable {
+        private final String pattern;
+        private final int[] shifts;
+
+        private SkipTable(String pattern, int[] shifts) {
+            this.pattern = pattern;
+            this.shifts = shifts;
+        }
+
+        @TruffleBoundary
+        static SkipTable create(String pattern) {
+            int length = pattern.length();
+            int[] shifts = new int[256];
+            Arrays.fill(shifts, length);
+            for (int i = 0; i < length - 1; i++) {
+                shifts[pattern.charAt(i) & 0xFF] = length - 1 - i;
+            }
+            return new SkipTable(pattern, shifts);
+        }
+
+        boolean matchesPattern(String otherPattern) {
+            return pattern == otherPattern || pattern.equals(otherPattern);
+        }
+
+        @TruffleBoundary
+        int indexOf(String str, int fromIndex) {
+            int length = pattern.length();
+            char last = pattern.charAt(length - 1);
+            int end = str.length() - length;
+            int i = fromIndex;
+            while (i <= end) {
+                char c = str.charAt(i + length - 1);
+                if (c == last && str.regionMatches(i, pattern, 0, length - 1)) {
+                    return i;
+                }
+                i += shifts[c & 0xFF];
+            }
+            return -1;
+        }
+    }
+}
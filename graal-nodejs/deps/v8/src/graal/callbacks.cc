@@ -74,7 +74,7 @@
 #define CALLBACK(name, signature, pointer) {const_cast<char*>(name), const_cast<char*>(signature), reinterpret_cast<void*>(pointer)}
 
 static const JNINativeMethod callbacks[] = {
-    CALLBACK("executeFunction", "(I[Ljava/lang/Object;ZZLjava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunction),
+    CALLBACK("executeFunction", "(I[Ljava/lang/Object;ZZZLjava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunction),
     CALLBACK("executeFunction0", "(ILjava/lang/Object;ILjava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunction0),
     CALLBACK("executeFunction1", "(ILjava/lang/Object;ILjava/lang/Object;Ljava/lang/Object;ILjava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunction1),
     CALLBACK("executeFunction2", "(ILjava/lang/Object;ILjava/lang/Object;Ljava/lang/Object;ILjava/lang/Object;ILjava/lang/Object;)Ljava/lang/Object;", &GraalExecuteFunction2),
@@ -107,7 +107,8 @@ static const JNINativeMethod callbacks[] = {
     CALLBACK("throwDataCloneError", "(JLjava/lang/String;)V", &GraalThrowDataCloneError),
     CALLBACK("getSharedArrayBufferId", "(JLjava/lang/Object;)I", &GraalGetSharedArrayBufferId),
     CALLBACK("getSharedArrayBufferFromId", "(JI)Ljava/lang/Object;", &GraalGetSharedArrayBufferFromId),
-    CALLBACK("syntheticModuleEvaluationSteps", "(JLjava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", &GraalSyntheticModuleEvaluationSteps)
+    CALLBACK("syntheticModuleEvaluationSteps", "(JLjava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", &GraalSyntheticModuleEvaluationSteps),
+    CALLBACK("wakeAgent", "(J)V", &GraalWakeAgent)
  };
 
 static const int CALLBACK_COUNT = sizeof(callbacks) / sizeof(*callbacks);
@@ -165,19 +166,32 @@ jobject GraalExecuteFunction(JNIEnv* env, GraalIsolate* isolate, jint id, GraalF
     return isolate->CorrectReturnValue(**reinterpret_cast<GraalValue***> (&value), isolate->GetUndefined()->GetJavaObject());
 }
 
-jobject GraalExecuteFunction(JNIEnv* env, jclass nativeAccess, jint id, jobjectArray arguments, jboolean is_new, jboolean is_new_target, jobject java_context) {
+static inline GraalValue* ArgumentFromJavaObject(GraalIsolate* isolate, jobject java_object, bool types_in_shared_buffer) {
+    if (types_in_shared_buffer) {
+        // type and payload were written by GraalJSAccess.valueTypes()
+        int type = isolate->ReadInt32FromSharedBuffer();
+        return GraalValue::FromJavaObject(isolate, java_object, type, true);
+    } else {
+        return GraalValue::FromJavaObject(isolate, java_object);
+    }
+}
+
+jobject GraalExecuteFunction(JNIEnv* env, jclass nativeAccess, jint id, jobjectArray arguments, jboolean is_new, jboolean is_new_target, jboolean types_in_shared_buffer, jobject java_context) {
     GraalIsolate* isolate = CurrentIsolateChecked();
     int length = env->GetArrayLength(arguments); // first is "this", second is "callee"
     int offset = is_new_target ? 3 : 2;
     std::vector<GraalValue*> values(length - offset + 1);
     v8::HandleScope scope(reinterpret_cast<v8::Isolate*> (isolate));
+    if (types_in_shared_buffer) {
+        isolate->ResetSharedBuffer();
+    }
+    jobject java_this = env->GetObjectArrayElement(arguments, 0);
+    GraalValue* graal_this = ArgumentFromJavaObject(isolate, java_this, types_in_shared_buffer);
     for (int i = 0; i < length - offset; i++) {
         jobject java_value = env->GetObjectArrayElement(arguments, i + offset);
-        GraalValue* graal_value = GraalValue::FromJavaObject(isolate, java_value);
+        GraalValue* graal_value = ArgumentFromJavaObject(isolate, java_value, types_in_shared_buffer);
         values[length - offset - 1 - i] = graal_value;
     }
-    jobject java_this = env->GetObjectArrayElement(arguments, 0);
-    GraalValue* graal_this = GraalValue::FromJavaObject(isolate, java_this);
     GraalValue* graal_new_target;
     if (is_new_target) {
         jobject java_new_target = env->GetObjectArrayElement(arguments, 2);
@@ -810,3 +824,9 @@ jobject GraalSyntheticModuleEvaluationSteps(JNIEnv* env, jclass nativeAccess, jl
         return env->NewLocalRef(graal_value->GetJavaObject());
     }
 }
+
+void GraalWakeAgent(JNIEnv* env, jclass nativeAccess, jlong isolate) {
+    // may be called from any thread, i.e., not necessarily from the thread of the isolate
+    GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
+    graal_isolate->WakeAgent();
+}
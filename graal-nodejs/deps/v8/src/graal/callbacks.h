@@ -47,7 +47,7 @@
 
 bool RegisterCallbacks(JNIEnv* env, jclass callback_class);
 
-jobject GraalExecuteFunction(JNIEnv* env, jclass nativeAccess, jint id, jobjectArray arguments, jboolean is_new, jboolean is_new_target, jobject context);
+jobject GraalExecuteFunction(JNIEnv* env, jclass nativeAccess, jint id, jobjectArray arguments, jboolean is_new, jboolean is_new_target, jboolean types_in_shared_buffer, jobject context);
 
 jobject GraalExecuteFunction0(JNIEnv* env, jclass nativeAccess, jint id,
         jobject this_object, jint this_type, jobject new_target,
@@ -152,4 +152,6 @@ jobject GraalExecutePrepareStackTraceCallback(JNIEnv* env, jclass nativeAccess,
 
 jobject GraalSyntheticModuleEvaluationSteps(JNIEnv* env, jclass nativeAccess, jlong callback, jobject java_context, jobject java_module);
 
+void GraalWakeAgent(JNIEnv* env, jclass nativeAccess, jlong isolate);
+
 #endif /* CALLBACKS_H_ */
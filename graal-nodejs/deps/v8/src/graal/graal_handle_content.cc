@@ -41,6 +41,7 @@
 
 #include "graal_handle_content.h"
 #include "graal_isolate.h"
+#include "graal_string.h"
 #include "graal_value.h"
 #include <string.h>
 
@@ -136,18 +137,7 @@ bool GraalHandleContent::SameData(GraalHandleContent* this_content, GraalHandleC
         return true;
     } else if (this_content->IsString() && that_content->IsString()) {
         // Check for same strings
-        jstring this_string = (jstring) this_content->GetJavaObject();
-        jstring that_string = (jstring) that_content->GetJavaObject();
-        jsize this_length = env->GetStringLength(this_string);
-        jsize that_length = env->GetStringLength(that_string);
-        if (this_length == that_length) {
-            const jchar* this_data = env->GetStringCritical(this_string, nullptr);
-            const jchar* that_data = env->GetStringCritical(that_string, nullptr);
-            int diff = memcmp(this_data, that_data, sizeof (jchar) * this_length);
-            env->ReleaseStringCritical(this_string, this_data);
-            env->ReleaseStringCritical(that_string, that_data);
-            return (diff == 0);
-        }
+        return static_cast<GraalString*> (this_content)->ContentEquals(static_cast<GraalString*> (that_content));
     }
     return false;
 }
@@ -53,6 +53,7 @@
 #include <string>
 #include <string.h>
 #include <algorithm>
+#include <chrono>
 #include <tuple>
 
 #ifdef __POSIX__
@@ -130,6 +131,7 @@ GraalIsolate* CurrentIsolate() {
 
 #define ACCESS_METHOD(id, name, signature) \
     jni_methods_[id] = jni_env_->GetMethodID(access_class_, name, signature); \
+    jni_method_names_[id] = name; \
     if (jni_methods_[id] == NULL) { \
         fprintf(stderr, "Method %s not found!\n", name); \
         exit(1); \
@@ -558,6 +560,11 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     shared_buffer_ = env->GetDirectBufferAddress(shared_buffer);
     ResetSharedBuffer();
 
+    // Native boundary profiler (--native-profiler)
+    jfieldID profiler_id = env->GetFieldID(access_class, "nativeBoundaryProfiler", "Lcom/oracle/truffle/trufflenode/NativeBoundaryProfiler;");
+    if (profiler_id == NULL) EXIT_WITH_MESSAGE(env, "GraalAccess.nativeBoundaryProfiler field not found!\n")
+    jni_profiler_enabled_ = (env->GetObjectField(access_, profiler_id) != NULL);
+
     // Externalization support
     jclass directByteBufferClass = env->GetObjectClass(shared_buffer);
     cleanerField_ = env->GetFieldID(directByteBufferClass, "cleaner", "Lsun/misc/Cleaner;"); // JDK 8
@@ -583,6 +590,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::value_double, "valueDouble", "(Ljava/lang/Object;)D")
     ACCESS_METHOD(GraalAccessMethod::value_string, "valueFlatten", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::value_external, "valueExternal", "(Ljava/lang/Object;)J")
+    ACCESS_METHOD(GraalAccessMethod::value_external_string, "valueExternalString", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::value_unknown, "valueUnknown", "(Ljava/lang/Object;)Ljava/lang/String;")
     ACCESS_METHOD(GraalAccessMethod::value_to_object, "valueToObject", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::value_to_string, "valueToString", "(Ljava/lang/Object;)Ljava/lang/String;")
@@ -708,7 +716,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::object_template_set_handler, "objectTemplateSetHandler", "(Ljava/lang/Object;JJJJJJJLjava/lang/Object;ZZ)V")
     ACCESS_METHOD(GraalAccessMethod::object_template_set_call_as_function_handler, "objectTemplateSetCallAsFunctionHandler", "(Ljava/lang/Object;IJLjava/lang/Object;)V")
     ACCESS_METHOD(GraalAccessMethod::function_new_instance, "functionNewInstance", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;")
-    ACCESS_METHOD(GraalAccessMethod::function_set_name, "functionSetName", "(Ljava/lang/Object;Ljava/lang/String;)V")
+    ACCESS_METHOD(GraalAccessMethod::function_set_name, "functionSetName", "(Ljava/lang/Object;Ljava/lang/Object;)V")
     ACCESS_METHOD(GraalAccessMethod::function_get_name, "functionGetName", "(Ljava/lang/Object;)Ljava/lang/String;")
     ACCESS_METHOD(GraalAccessMethod::function_call, "functionCall", "(Ljava/lang/Object;Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::function_call0, "functionCall0", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;")
@@ -761,6 +769,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::make_weak, "makeWeak", "(Ljava/lang/Object;JJJI)V")
     ACCESS_METHOD(GraalAccessMethod::clear_weak, "clearWeak", "(Ljava/lang/Object;J)J")
     ACCESS_METHOD(GraalAccessMethod::string_external_resource_callback, "stringExternalResourceCallback", "(Ljava/lang/Object;JJ)V")
+    ACCESS_METHOD(GraalAccessMethod::string_new_external, "stringNewExternal", "(Ljava/nio/ByteBuffer;ZJJ)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::context_new, "contextNew", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::context_set_security_token, "contextSetSecurityToken", "(Ljava/lang/Object;Ljava/lang/Object;)V")
     ACCESS_METHOD(GraalAccessMethod::context_get_security_token, "contextGetSecurityToken", "(Ljava/lang/Object;)Ljava/lang/Object;")
@@ -799,8 +808,8 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::module_get_namespace, "moduleGetNamespace", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::module_get_identity_hash, "moduleGetIdentityHash", "(Ljava/lang/Object;)I")
     ACCESS_METHOD(GraalAccessMethod::module_get_exception, "moduleGetException", "(Ljava/lang/Object;)Ljava/lang/Object;")
-    ACCESS_METHOD(GraalAccessMethod::module_create_synthetic_module, "moduleCreateSyntheticModule", "(Ljava/lang/String;[Ljava/lang/Object;J)Ljava/lang/Object;")
-    ACCESS_METHOD(GraalAccessMethod::module_set_synthetic_module_export, "moduleSetSyntheticModuleExport", "(Ljava/lang/Object;Ljava/lang/String;Ljava/lang/Object;)V")
+    ACCESS_METHOD(GraalAccessMethod::module_create_synthetic_module, "moduleCreateSyntheticModule", "(Ljava/lang/Object;[Ljava/lang/Object;J)Ljava/lang/Object;")
+    ACCESS_METHOD(GraalAccessMethod::module_set_synthetic_module_export, "moduleSetSyntheticModuleExport", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)V")
     ACCESS_METHOD(GraalAccessMethod::script_or_module_get_resource_name, "scriptOrModuleGetResourceName", "(Ljava/lang/Object;)Ljava/lang/String;")
     ACCESS_METHOD(GraalAccessMethod::script_or_module_get_host_defined_options, "scriptOrModuleGetHostDefinedOptions", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::value_serializer_new, "valueSerializerNew", "(J)Ljava/lang/Object;")
@@ -838,7 +847,7 @@ GraalIsolate::GraalIsolate(JavaVM* jvm, JNIEnv* env, v8::Isolate::CreateParams c
     ACCESS_METHOD(GraalAccessMethod::shared_array_buffer_is_external, "sharedArrayBufferIsExternal", "(Ljava/lang/Object;)Z")
     ACCESS_METHOD(GraalAccessMethod::shared_array_buffer_get_contents, "sharedArrayBufferGetContents", "(Ljava/lang/Object;)Ljava/lang/Object;")
     ACCESS_METHOD(GraalAccessMethod::shared_array_buffer_externalize, "sharedArrayBufferExternalize", "(Ljava/lang/Object;J)V")
-    ACCESS_METHOD(GraalAccessMethod::script_compiler_compile_function_in_context, "scriptCompilerCompileFunctionInContext", "(Ljava/lang/Object;Ljava/lang/String;Ljava/lang/String;[Ljava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;")
+    ACCESS_METHOD(GraalAccessMethod::script_compiler_compile_function_in_context, "scriptCompilerCompileFunctionInContext", "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;[Ljava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;")
 
     int root_offset = v8::internal::Internals::kIsolateRootsOffset / v8::internal::kApiSystemPointerSize;
     slot[v8::internal::Internals::kExternalMemoryOffset / v8::internal::kApiSystemPointerSize] = (void*) 0;
@@ -1023,6 +1032,10 @@ void GraalIsolate::Dispose() {
 }
 
 void GraalIsolate::Dispose(bool exit, int status) {
+    if (jni_profiler_enabled_) {
+        JNIProfilerDump();
+    }
+
     JNIEnv* env = jni_env_;
     jni_env_ = nullptr; // mark the isolate as disposed, see ~GraalHandleContent()
 
@@ -1121,6 +1134,36 @@ GraalNumber* GraalIsolate::CachedNumber(int value) {
 
 bool GraalIsolate::internal_error_check_ = false;
 
+int64_t GraalIsolate::JNIProfilerTime() {
+    return std::chrono::duration_cast<std::chrono::nanoseconds>(std::chrono::steady_clock::now().time_since_epoch()).count();
+}
+
+void GraalIsolate::JNIProfilerDump() {
+    std::vector<int> ids;
+    int64_t total_calls = 0;
+    int64_t total_time = 0;
+    for (int id = 0; id < GraalAccessMethod::count; id++) {
+        if (jni_call_counts_[id] != 0) {
+            ids.push_back(id);
+            total_calls += jni_call_counts_[id];
+            total_time += jni_call_times_[id];
+        }
+    }
+    std::sort(ids.begin(), ids.end(), [this](int id1, int id2) {
+        return jni_call_times_[id1] > jni_call_times_[id2];
+    });
+    fprintf(stderr, "\n=== Time spent in GraalJSAccess calls (C++->Java) ===\n");
+    for (int id : ids) {
+        fprintf(stderr, "%-60s |time %10.3f ms |#calls %9lld |avg %8.3f us\n",
+                jni_method_names_[id],
+                jni_call_times_[id] / 1e6,
+                (long long) jni_call_counts_[id],
+                jni_call_times_[id] / (jni_call_counts_[id] * 1e3));
+    }
+    fprintf(stderr, "total Java time %.3f ms, total GraalJSAccess calls %lld\n", total_time / 1e6, (long long) total_calls);
+    fflush(stderr);
+}
+
 void GraalIsolate::InternalErrorCheck() {
     JNIEnv* env = GetJNIEnv();
     if (env->ExceptionCheck()) {
@@ -1388,6 +1431,24 @@ void GraalIsolate::RunMicrotasks() {
     TryCatchExit();
 }
 
+class WakeAgentTask : public v8::Task {
+public:
+    WakeAgentTask(GraalIsolate* isolate) : isolate_(isolate) {
+    }
+
+    void Run() override {
+        // settles the promises of notified or timed-out Atomics.waitAsync() waiters
+        isolate_->RunMicrotasks();
+    }
+private:
+    GraalIsolate* isolate_;
+};
+
+void GraalIsolate::WakeAgent() {
+    // the foreground task runner is thread-safe and wakes up the event loop
+    task_runner_->PostTask(std::unique_ptr<v8::Task>(new WakeAgentTask(this)));
+}
+
 void GraalIsolate::Enter() {
     if (jvm_->GetEnv(reinterpret_cast<void**> (&jni_env_), JNI_VERSION_1_8) == JNI_EDETACHED) {
         jvm_->AttachCurrentThread(reinterpret_cast<void**> (&jni_env_), nullptr);
@@ -64,7 +64,11 @@
         jmethodID method_id_tmp = graal_isolate_tmp->GetJNIMethod(id); \
         jobject access_tmp = graal_isolate_tmp->GetGraalAccess(); \
         JNIEnv *env_tmp = graal_isolate_tmp->GetJNIEnv(); \
+        int64_t profiler_start_tmp = graal_isolate_tmp->JNIProfilerEnabled() ? GraalIsolate::JNIProfilerTime() : 0; \
         variable equals env_tmp->functions->Call ## type ## Method(env_tmp, access_tmp, method_id_tmp, ##__VA_ARGS__); \
+        if (profiler_start_tmp != 0) { \
+            graal_isolate_tmp->JNIProfilerRecord(id, profiler_start_tmp); \
+        } \
         if (GraalIsolate::InternalErrorCheckEnabled()) { \
             graal_isolate_tmp->InternalErrorCheck(); \
         } \
@@ -90,6 +94,7 @@ enum GraalAccessMethod {
     value_double,
     value_string,
     value_external,
+    value_external_string,
     value_unknown,
     value_to_object,
     value_to_string,
@@ -269,6 +274,7 @@ enum GraalAccessMethod {
     make_weak,
     clear_weak,
     string_external_resource_callback,
+    string_new_external,
     context_new,
     context_set_security_token,
     context_get_security_token,
@@ -388,6 +394,7 @@ public:
     v8::MaybeLocal<v8::Value> NotifyPrepareStackTraceCallback(v8::Local<v8::Context> context, v8::Local<v8::Value> error, v8::Local<v8::Array> sites);
     void EnqueueMicrotask(v8::MicrotaskCallback microtask, void* data);
     void RunMicrotasks();
+    void WakeAgent();
     void Enter();
     void Exit();
     void HandleEmptyCallResult();
@@ -542,6 +549,18 @@ public:
         return internal_error_check_;
     }
 
+    inline bool JNIProfilerEnabled() {
+        return jni_profiler_enabled_;
+    }
+
+    inline void JNIProfilerRecord(GraalAccessMethod id, int64_t start) {
+        jni_call_counts_[id]++;
+        jni_call_times_[id] += JNIProfilerTime() - start;
+    }
+
+    static int64_t JNIProfilerTime();
+    void JNIProfilerDump();
+
     inline void TryCatchEnter() {
         try_catch_count_++;
     }
@@ -653,6 +672,10 @@ private:
     jobject double_placeholder_;
     v8::Value* internal_field_count_key_;
     jmethodID jni_methods_[GraalAccessMethod::count];
+    const char* jni_method_names_[GraalAccessMethod::count] = {};
+    bool jni_profiler_enabled_;
+    int64_t jni_call_counts_[GraalAccessMethod::count] = {};
+    int64_t jni_call_times_[GraalAccessMethod::count] = {};
     jfieldID jni_fields_[static_cast<int>(GraalAccessField::count)];
     jfieldID cleanerField_;
     jfieldID thunkField_;
@@ -44,11 +44,49 @@
 #include <string.h>
 #include <limits.h>
 
-GraalString::GraalString(GraalIsolate* isolate, jstring java_string) : GraalName(isolate, java_string) {
+GraalString::GraalString(GraalIsolate* isolate, jstring java_string) : GraalName(isolate, java_string),
+    external_data_(nullptr), external_length_(0), external_one_byte_(false) {
+}
+
+GraalString::GraalString(GraalIsolate* isolate, jobject java_string, const void* external_data, int external_length, bool external_one_byte) : GraalName(isolate, java_string),
+    external_data_(external_data), external_length_(external_length), external_one_byte_(external_one_byte) {
 }
 
 GraalHandleContent* GraalString::CopyImpl(jobject java_object_copy) {
-    return new GraalString(Isolate(), (jstring) java_object_copy);
+    return new GraalString(Isolate(), java_object_copy, external_data_, external_length_, external_one_byte_);
+}
+
+const jchar* GraalString::AcquireChars(int* length, std::vector<jchar>* widened) const {
+    if (IsExternal()) {
+        *length = external_length_;
+        if (external_one_byte_) {
+            const unsigned char* data = (const unsigned char*) external_data_;
+            widened->assign(data, data + external_length_);
+            return widened->data();
+        } else {
+            return (const jchar*) external_data_;
+        }
+    } else {
+        jstring java_string = (jstring) GetJavaObject();
+        JNIEnv* env = Isolate()->GetJNIEnv();
+        *length = env->GetStringLength(java_string);
+        return env->GetStringCritical(java_string, nullptr);
+    }
+}
+
+jstring GraalString::GetJavaString() const {
+    if (IsExternal()) {
+        JNI_CALL(jobject, java_string, Isolate(), GraalAccessMethod::value_string, Object, GetJavaObject());
+        return (jstring) java_string;
+    } else {
+        return (jstring) Isolate()->GetJNIEnv()->NewLocalRef(GetJavaObject());
+    }
+}
+
+void GraalString::ReleaseChars(const jchar* chars) const {
+    if (!IsExternal()) {
+        Isolate()->GetJNIEnv()->ReleaseStringCritical((jstring) GetJavaObject(), chars);
+    }
 }
 
 v8::Local<v8::String> GraalString::NewFromOneByte(v8::Isolate* isolate, unsigned char const* data, v8::String::NewStringType type, int length) {
@@ -290,6 +328,9 @@ bool GraalString::IsName() const {
 }
 
 int GraalString::Length() const {
+    if (IsExternal()) {
+        return external_length_;
+    }
     return Isolate()->GetJNIEnv()->GetStringLength((jstring) GetJavaObject());
 }
 
@@ -327,12 +368,21 @@ int GraalString::Utf8Length() const {
     // we cannot use JNI function GetStringUTFLength() because it returns
     // the length of the modified utf8 encoding of the string which may differ
     // from the length of the utf8 encoding
-    jstring java_string = (jstring) GetJavaObject();
-    JNIEnv* env = Isolate()->GetJNIEnv();
-    int utf16length = env->GetStringLength(java_string);
-    const jchar* data = env->GetStringCritical(java_string, nullptr);
+    if (IsExternal() && external_one_byte_) {
+        const unsigned char* data = (const unsigned char*) external_data_;
+        int utf8length = external_length_;
+        for (int i = 0; i < external_length_; i++) {
+            if (data[i] & 0x80) {
+                utf8length++;
+            }
+        }
+        return utf8length;
+    }
+    int utf16length;
+    std::vector<jchar> widened;
+    const jchar* data = AcquireChars(&utf16length, &widened);
     int utf8length = Utf8Length(data, utf16length);
-    env->ReleaseStringCritical(java_string, data);
+    ReleaseChars(data);
     return utf8length;
 }
 
@@ -401,33 +451,35 @@ int GraalString::Utf8Write(const jchar* input, int input_length, char* buffer, i
 }
 
 int GraalString::WriteUtf8(char* buffer, int length, int* nchars_ref, int options) const {
-    jstring java_string = (jstring) GetJavaObject();
-    JNIEnv* env = Isolate()->GetJNIEnv();
-    int str_length = env->GetStringLength(java_string);
-    const jchar* str = env->GetStringCritical(java_string, NULL);
+    int str_length;
+    std::vector<jchar> widened;
+    const jchar* str = AcquireChars(&str_length, &widened);
     if (length == -1) {
         length = INT_MAX;
     }
     int bytesWritten = Utf8Write(str, str_length, buffer, length, nchars_ref, options);
-    env->ReleaseStringCritical(java_string, str);
+    ReleaseChars(str);
     return bytesWritten;
 }
 
 int GraalString::WriteOneByte(uint8_t* buffer, int start, int length, int options) const {
-    JNIEnv* env = Isolate()->GetJNIEnv();
-    jstring java_string = (jstring) GetJavaObject();
-    int str_length = env->GetStringLength(java_string);
+    int str_length = Length();
     if ((length == -1) || (start + length > str_length)) {
         length = str_length - start;
     }
-    int end = start + length;
-    const jchar* data = env->GetStringCritical(java_string, NULL);
-    const jchar* current = data;
-    for (int i = start; i < end; i++) {
-        *buffer++ = *current & 0xFF;
-        current++;
+    if (IsExternal() && external_one_byte_) {
+        memcpy(buffer, (const unsigned char*) external_data_ + start, length);
+        buffer += length;
+    } else {
+        std::vector<jchar> widened;
+        const jchar* data = AcquireChars(&str_length, &widened);
+        const jchar* current = data + start;
+        for (int i = 0; i < length; i++) {
+            *buffer++ = *current & 0xFF;
+            current++;
+        }
+        ReleaseChars(data);
     }
-    env->ReleaseStringCritical(java_string, data);
     if ((options & v8::String::NO_NULL_TERMINATION) == 0) {
         *buffer = 0;
     }
@@ -435,6 +487,23 @@ int GraalString::WriteOneByte(uint8_t* buffer, int start, int length, int option
 }
 
 int GraalString::Write(uint16_t* buffer, int start, int length, int options) const {
+    if (IsExternal()) {
+        if ((length == -1) || (start + length > external_length_)) {
+            length = external_length_ - start;
+        }
+        if (external_one_byte_) {
+            const unsigned char* data = (const unsigned char*) external_data_ + start;
+            for (int i = 0; i < length; i++) {
+                buffer[i] = data[i];
+            }
+        } else {
+            memcpy(buffer, (const jchar*) external_data_ + start, sizeof (jchar) * length);
+        }
+        if ((options & v8::String::NO_NULL_TERMINATION) == 0) {
+            *(buffer + length) = 0;
+        }
+        return length;
+    }
     jstring java_string = (jstring) GetJavaObject();
     JNIEnv* env = Isolate()->GetJNIEnv();
     int str_length = env->GetStringLength(java_string);
@@ -466,29 +535,38 @@ void GraalString::ExternalResourceDeallocator(const v8::WeakCallbackInfo<void>&
     v8::internal::ExternalString::DisposeExternalString(reinterpret_cast<v8::String::ExternalStringResourceBase*> (data.GetParameter()));
 }
 
-v8::Local<v8::String> GraalString::NewExternal(v8::Isolate* isolate, v8::String::ExternalOneByteStringResource* resource) {
-    v8::Local<v8::String> result = GraalString::NewFromOneByte(isolate, (const unsigned char*) resource->data(), v8::String::kNormalString, resource->length());
-    if (!result.IsEmpty()) {
-        GraalString* graal_string = reinterpret_cast<GraalString*> (*result);
-        JNI_CALL_VOID(isolate, GraalAccessMethod::string_external_resource_callback, graal_string->GetJavaObject(), (jlong) resource, (jlong) & ExternalResourceDeallocator);
+v8::Local<v8::String> GraalString::NewExternal(v8::Isolate* isolate, const void* data, size_t length, bool one_byte, v8::String::ExternalStringResourceBase* resource) {
+    if (length > v8::String::kMaxLength) {
+        return v8::Local<v8::String>();
     }
-    return result;
+    // The content is not copied to the Java heap, JSExternalString reads it
+    // from a direct ByteBuffer over the native memory of the resource
+    GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
+    size_t byte_length = one_byte ? length : length * sizeof (jchar);
+    jobject java_buffer = graal_isolate->GetJNIEnv()->NewDirectByteBuffer((void*) data, byte_length);
+    JNI_CALL(jobject, java_string, isolate, GraalAccessMethod::string_new_external, Object, java_buffer, (jboolean) one_byte, (jlong) resource, (jlong) & ExternalResourceDeallocator);
+    if (java_string == nullptr) {
+        return v8::Local<v8::String>();
+    }
+    GraalString* graal_string = new GraalString(graal_isolate, java_string, data, (int) length, one_byte);
+    return reinterpret_cast<v8::String*> (graal_string);
+}
+
+v8::Local<v8::String> GraalString::NewExternal(v8::Isolate* isolate, v8::String::ExternalOneByteStringResource* resource) {
+    return NewExternal(isolate, resource->data(), resource->length(), true, resource);
 }
 
 v8::Local<v8::String> GraalString::NewExternal(v8::Isolate* isolate, v8::String::ExternalStringResource* resource) {
-    v8::Local<v8::String> result = GraalString::NewFromTwoByte(isolate, resource->data(), v8::String::kNormalString, resource->length());
-    if (!result.IsEmpty()) {
-        GraalString* graal_string = reinterpret_cast<GraalString*> (*result);
-        JNI_CALL_VOID(isolate, GraalAccessMethod::string_external_resource_callback, graal_string->GetJavaObject(), (jlong) resource, (jlong) & ExternalResourceDeallocator);
-    }
-    return result;
+    return NewExternal(isolate, resource->data(), resource->length(), false, resource);
 }
 
 bool GraalString::ContainsOnlyOneByte() const {
-    jstring java_string = (jstring) GetJavaObject();
-    JNIEnv* env = Isolate()->GetJNIEnv();
-    int length = env->GetStringLength(java_string);
-    const jchar* data = env->GetStringCritical(java_string, nullptr);
+    if (IsExternal() && external_one_byte_) {
+        return true;
+    }
+    int length;
+    std::vector<jchar> widened;
+    const jchar* data = AcquireChars(&length, &widened);
     bool onlyOneByte = true;
     for (int i = 0; i < length; i++) {
         if (data[i] >= 256) {
@@ -496,6 +574,22 @@ bool GraalString::ContainsOnlyOneByte() const {
             break;
         }
     }
-    env->ReleaseStringCritical(java_string, data);
+    ReleaseChars(data);
     return onlyOneByte;
 }
+
+bool GraalString::ContentEquals(const GraalString* other) const {
+    if (Length() != other->Length()) {
+        return false;
+    }
+    int this_length;
+    int that_length;
+    std::vector<jchar> this_widened;
+    std::vector<jchar> that_widened;
+    const jchar* this_data = AcquireChars(&this_length, &this_widened);
+    const jchar* that_data = other->AcquireChars(&that_length, &that_widened);
+    int diff = memcmp(this_data, that_data, sizeof (jchar) * this_length);
+    other->ReleaseChars(that_data);
+    ReleaseChars(this_data);
+    return (diff == 0);
+}
@@ -44,16 +44,19 @@
 
 #include "graal_name.h"
 #include "include/v8.h"
+#include <vector>
 
 class GraalString : public GraalName {
 public:
     GraalString(GraalIsolate* isolate, jstring java_string);
+    GraalString(GraalIsolate* isolate, jobject java_string, const void* external_data, int external_length, bool external_one_byte);
     static v8::Local<v8::String> NewFromOneByte(v8::Isolate* isolate, unsigned char const* data, v8::String::NewStringType type, int length);
     static v8::Local<v8::String> NewFromUtf8(v8::Isolate* isolate, char const* str, v8::String::NewStringType type, int length);
     static v8::Local<v8::String> NewFromTwoByte(v8::Isolate* isolate, const uint16_t* data, v8::String::NewStringType type, int length);
     static v8::Local<v8::String> NewFromModifiedUtf8(v8::Isolate* isolate, char const* data);
     static v8::Local<v8::String> NewExternal(v8::Isolate* isolate, v8::String::ExternalOneByteStringResource* resource);
     static v8::Local<v8::String> NewExternal(v8::Isolate* isolate, v8::String::ExternalStringResource* resource);
+    static v8::Local<v8::String> NewExternal(v8::Isolate* isolate, const void* data, size_t length, bool one_byte, v8::String::ExternalStringResourceBase* resource);
     static void ExternalResourceDeallocator(const v8::WeakCallbackInfo<void>& data);
     static int Utf16Length(const unsigned char* input, int length);
     static void Utf16Write(const unsigned char* input, jchar* output, int length);
@@ -67,6 +70,14 @@ public:
     int WriteOneByte(uint8_t* buffer, int start, int length, int options) const;
     int Write(uint16_t* buffer, int start, int length, int options) const;
     bool ContainsOnlyOneByte() const;
+    bool ContentEquals(const GraalString* other) const;
+    // Returns a new local reference to a java.lang.String with the content
+    // of this string (external strings are flattened on the Java side)
+    jstring GetJavaString() const;
+
+    inline bool IsExternal() const {
+        return external_data_ != nullptr;
+    }
 
     /* Determines whether the given character is a continuation byte in UTF8 */
     static inline bool IsContinuationByte(const unsigned char c) {
@@ -74,6 +85,14 @@ public:
     }
 protected:
     GraalHandleContent* CopyImpl(jobject java_object_copy) override;
+private:
+    // Content of external strings is read from the native memory of
+    // the external resource (the Java object is JSExternalString then)
+    const void* external_data_;
+    int external_length_;
+    bool external_one_byte_;
+    const jchar* AcquireChars(int* length, std::vector<jchar>* widened) const;
+    void ReleaseChars(const jchar* chars) const;
 };
 
 #endif /* GRAAL_STRING_H_ */
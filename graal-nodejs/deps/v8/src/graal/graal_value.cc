@@ -658,6 +658,27 @@ GraalValue* GraalValue::FromJavaObject(GraalIsolate* isolate, jobject java_objec
         case 33:
             result = CreateArrayBufferView(isolate, java_object, GraalArrayBufferView::kBigUint64Array, use_shared_buffer, placement);
             break;
+        case 34:
+        case 35:
+        {
+            // external string: read the memory of the external resource
+            // directly instead of flattening the string on the Java side
+            bool one_byte = (type == 34);
+            JNI_CALL(jobject, java_buffer, isolate, GraalAccessMethod::value_external_string, Object, java_object);
+            JNIEnv* env = isolate->GetJNIEnv();
+            const void* data = env->GetDirectBufferAddress(java_buffer);
+            int length = (int) env->GetDirectBufferCapacity(java_buffer);
+            env->DeleteLocalRef(java_buffer);
+            if (!one_byte) {
+                length /= sizeof (jchar);
+            }
+            if (placement) {
+                result = new(placement) GraalString(isolate, java_object, data, length, one_byte);
+            } else {
+                result = new GraalString(isolate, java_object, data, length, one_byte);
+            }
+            break;
+        }
         case 15:
             if (placement) {
                 result = new(placement) GraalArrayBuffer(isolate, java_object);
@@ -772,8 +772,8 @@ namespace v8 {
     Local<String> String::Concat(Isolate* isolate, Local<String> left, Local<String> right) {
         GraalString* graal_left = reinterpret_cast<GraalString*> (*left);
         GraalString* graal_right = reinterpret_cast<GraalString*> (*right);
-        jstring java_left = (jstring) graal_left->GetJavaObject();
-        jstring java_right = (jstring) graal_right->GetJavaObject();
+        jstring java_left = graal_left->GetJavaString();
+        jstring java_right = graal_right->GetJavaString();
         GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
         JNIEnv* env = graal_isolate->GetJNIEnv();
         int left_length = env->GetStringLength(java_left);
@@ -782,6 +782,8 @@ namespace v8 {
         jchar* str = new jchar[length];
         env->GetStringRegion(java_left, 0, left_length, str);
         env->GetStringRegion(java_right, 0, right_length, str + left_length);
+        env->DeleteLocalRef(java_left);
+        env->DeleteLocalRef(java_right);
         GraalString* graal_concat = new GraalString(graal_isolate, env->NewString(str, length));
         delete[] str;
         return reinterpret_cast<String*> (graal_concat);
@@ -847,7 +849,7 @@ namespace v8 {
             GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
             env = graal_isolate->GetJNIEnv();
             if (graal_obj->IsString()) {
-                java_string_ = env->NewLocalRef(graal_obj->GetJavaObject());
+                java_string_ = reinterpret_cast<GraalString*> (graal_obj)->GetJavaString();
             } else {
                 JNI_CALL(jobject, java_string, graal_isolate, GraalAccessMethod::value_to_string, Object, graal_obj->GetJavaObject());
                 if (java_string == nullptr) {
@@ -884,7 +886,7 @@ namespace v8 {
         GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
         JNIEnv* env = graal_isolate->GetJNIEnv();
         if (graal_obj->IsString()) {
-            java_string_ = env->NewLocalRef(graal_obj->GetJavaObject());
+            java_string_ = reinterpret_cast<GraalString*> (graal_obj)->GetJavaString();
         } else {
             JNI_CALL(jobject, java_string, graal_isolate, GraalAccessMethod::value_to_string, Object, graal_obj->GetJavaObject());
             java_string_ = java_string;
@@ -2075,8 +2077,11 @@ namespace v8 {
         GraalIsolate* graal_isolate = graal_context->Isolate();
         jobject java_context = graal_context->GetJavaObject();
         jobject java_object = reinterpret_cast<GraalObject*> (*json_object)->GetJavaObject();
-        jstring java_gap = gap.IsEmpty() ? nullptr : (jstring) reinterpret_cast<GraalString*> (*gap)->GetJavaObject();
+        jstring java_gap = gap.IsEmpty() ? nullptr : reinterpret_cast<GraalString*> (*gap)->GetJavaString();
         JNI_CALL(jobject, java_result, graal_isolate, GraalAccessMethod::json_stringify, Object, java_context, java_object, java_gap);
+        if (java_gap != nullptr) {
+            graal_isolate->GetJNIEnv()->DeleteLocalRef(java_gap);
+        }
         if (java_result == nullptr) {
             return Local<String>();
         } else {
@@ -52,6 +52,7 @@ import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.util.Pair;
+import com.oracle.truffle.regex.util.LRUCache;
 
 /**
  * Embedder data shared between realms.
@@ -59,11 +60,14 @@ import com.oracle.truffle.js.runtime.util.Pair;
 public final class ContextData {
     private final Map<String, FunctionNode> functionNodeCache = new WeakHashMap<>();
     private final Map<Source, ScriptNode> scriptNodeCache = new WeakHashMap<>();
+    private final Map<Source, ScriptNode> compiledFunctionCache;
     private final List<Pair<JSFunctionData, JSFunctionData>> accessorPairs = new ArrayList<>();
     private final Shape externalObjectShape;
 
     public ContextData(JSContext context) {
         this.externalObjectShape = JSExternalObject.makeInitialShape(context);
+        // the cached scripts refer to their sources, so the cache is bounded instead of weak
+        this.compiledFunctionCache = new LRUCache<>(context.getContextOptions().getFunctionConstructorCacheSize());
     }
 
     public Pair<JSFunctionData, JSFunctionData> getAccessorPair(int id) {
@@ -92,4 +96,8 @@ public final class ContextData {
     public Map<String, FunctionNode> getFunctionNodeCache() {
         return functionNodeCache;
     }
+
+    public Map<Source, ScriptNode> getCompiledFunctionCache() {
+        return compiledFunctionCache;
+    }
 }
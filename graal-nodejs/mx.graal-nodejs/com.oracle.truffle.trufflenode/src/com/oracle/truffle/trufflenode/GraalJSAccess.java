@@ -52,6 +52,8 @@ import static com.oracle.truffle.trufflenode.ValueType.BOOLEAN_VALUE_TRUE;
 import static com.oracle.truffle.trufflenode.ValueType.DATA_VIEW_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.DATE_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.EXTERNAL_OBJECT;
+import static com.oracle.truffle.trufflenode.ValueType.EXTERNAL_ONE_BYTE_STRING_VALUE;
+import static com.oracle.truffle.trufflenode.ValueType.EXTERNAL_TWO_BYTE_STRING_VALUE;
 import static com.oracle.truffle.trufflenode.ValueType.FLOAT32ARRAY_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.FLOAT64ARRAY_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.FUNCTION_OBJECT;
@@ -144,7 +146,6 @@ import com.oracle.truffle.js.parser.JSParser;
 import com.oracle.truffle.js.parser.JavaScriptTranslator;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
-import com.oracle.truffle.js.runtime.Evaluator;
 import com.oracle.truffle.js.runtime.ExitException;
 import com.oracle.truffle.js.runtime.GraalJSException;
 import com.oracle.truffle.js.runtime.ImportMetaInitializer;
@@ -196,12 +197,14 @@ import com.oracle.truffle.js.runtime.builtins.JSUserObject;
 import com.oracle.truffle.js.runtime.builtins.JSWeakMap;
 import com.oracle.truffle.js.runtime.builtins.JSWeakSet;
 import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSModuleLoader;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord.Status;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.PropertyReference;
@@ -220,6 +223,7 @@ import com.oracle.truffle.trufflenode.info.UnboundScript;
 import com.oracle.truffle.trufflenode.info.Value;
 import com.oracle.truffle.trufflenode.node.ExecuteNativeFunctionNode;
 import com.oracle.truffle.trufflenode.node.ExecuteNativePropertyHandlerNode;
+import com.oracle.truffle.trufflenode.node.ObjectTemplateNode;
 import com.oracle.truffle.trufflenode.node.debug.SetBreakPointNode;
 import com.oracle.truffle.trufflenode.serialization.Deserializer;
 import com.oracle.truffle.trufflenode.serialization.Serializer;
@@ -271,7 +275,13 @@ public final class GraalJSAccess {
      * data in the same order as you write them and perform the reading as soon as possible (as the
      * buffer may be used by any subsequent transition from Java to C).
      */
-    private final ByteBuffer sharedBuffer = ByteBuffer.allocateDirect(128).order(ByteOrder.nativeOrder());
+    private final ByteBuffer sharedBuffer = ByteBuffer.allocateDirect(1024).order(ByteOrder.nativeOrder());
+
+    /**
+     * Maximal number of bytes written to {@link #sharedBuffer} by {@link #valueTypes}: the type
+     * and the largest payload (a double or the length and offset of an array buffer view).
+     */
+    private static final int MAX_VALUE_TYPE_SIZE = 12;
 
     /**
      * Caching file content, as used by e.g. the require function. While Node.js currently caches
@@ -287,6 +297,12 @@ public final class GraalJSAccess {
 
     private final boolean exposeGC;
 
+    /**
+     * Profiler of {@link NativeAccess} calls, {@code null} unless {@code --native-profiler} is
+     * specified. Read by the native code to enable the profiling of {@code GraalJSAccess} calls.
+     */
+    private final NativeBoundaryProfiler nativeBoundaryProfiler;
+
     /**
      * @see Options.OptionsParser#preprocessArguments
      */
@@ -307,6 +323,7 @@ public final class GraalJSAccess {
             contextBuilder.option(JSContextOptions.GLOBAL_ARGUMENTS_NAME, "false");
 
             exposeGC = options.isGCExposed();
+            nativeBoundaryProfiler = options.isNativeProfilerEnabled() ? new NativeBoundaryProfiler() : null;
             evaluator = contextBuilder.build();
             mainJSRealm = JavaScriptLanguage.getJSRealm(evaluator);
         } catch (IllegalArgumentException iaex) {
@@ -374,6 +391,10 @@ public final class GraalJSAccess {
         return sharedBuffer;
     }
 
+    public NativeBoundaryProfiler getNativeBoundaryProfiler() {
+        return nativeBoundaryProfiler;
+    }
+
     public int valueType(Object value) {
         return valueType(value, false);
     }
@@ -399,6 +420,8 @@ public final class GraalJSAccess {
             return valueTypeJSObject((DynamicObject) value, useSharedBuffer);
         } else if (JSRuntime.isForeignObject(value)) {
             return valueTypeForeignObject((TruffleObject) value, useSharedBuffer);
+        } else if (value instanceof JSExternalString) {
+            return ((JSExternalString) value).isOneByte() ? EXTERNAL_ONE_BYTE_STRING_VALUE : EXTERNAL_TWO_BYTE_STRING_VALUE;
         } else if (JSRuntime.isString(value)) { // JSLazyString
             return LAZY_STRING_VALUE;
         } else if (value instanceof Symbol) {
@@ -414,6 +437,35 @@ public final class GraalJSAccess {
         return UNKNOWN_TYPE;
     }
 
+    /**
+     * Classifies {@code this} ({@code arguments[0]}) and the explicit arguments
+     * ({@code arguments[offset..]}) of a native function call in one pass. The type of each value
+     * is written into the shared buffer followed by its payload (see
+     * {@link #valueType(Object, boolean)}), so the native side can decode the whole argument vector
+     * without querying the type of each value separately.
+     *
+     * @return {@code false} when the arguments do not fit into the shared buffer
+     */
+    @TruffleBoundary
+    public boolean valueTypes(Object[] arguments, int offset) {
+        int count = arguments.length - offset + 1;
+        if (count * MAX_VALUE_TYPE_SIZE > sharedBuffer.capacity()) {
+            return false;
+        }
+        resetSharedBuffer();
+        putValueType(arguments[0]);
+        for (int i = offset; i < arguments.length; i++) {
+            putValueType(arguments[i]);
+        }
+        return true;
+    }
+
+    private void putValueType(Object value) {
+        int typePosition = sharedBuffer.position();
+        asBaseBuffer(sharedBuffer).position(typePosition + 4);
+        sharedBuffer.putInt(typePosition, valueType(value, true));
+    }
+
     private int valueTypeForeignObject(TruffleObject value, boolean useSharedBuffer) {
         InteropLibrary interop = InteropLibrary.getFactory().getUncached(value);
         if (interop.isExecutable(value)) {
@@ -534,6 +586,14 @@ public final class GraalJSAccess {
         return JSExternalObject.getPointer((DynamicObject) obj);
     }
 
+    /**
+     * Returns the buffer over the native memory of an external string, so that the string is
+     * passed back to the native code without flattening it.
+     */
+    public Object valueExternalString(Object obj) {
+        return ((JSExternalString) obj).getBuffer();
+    }
+
     public String valueUnknown(Object obj) {
         return obj.toString();
     }
@@ -851,6 +911,10 @@ public final class GraalJSAccess {
             return ((JSLazyString) value).toString();
         } else if (value instanceof PropertyReference) {
             return ((PropertyReference) value).toString();
+        } else if (value instanceof JSExternalString) {
+            return ((JSExternalString) value).toString();
+        } else if (value instanceof JSSlicedString) {
+            return ((JSSlicedString) value).toString();
         } else if (JSRuntime.isForeignObject(value)) {
             InteropLibrary interop = InteropLibrary.getFactory().getUncached(value);
             if (interop.isString(value)) {
@@ -1284,7 +1348,7 @@ public final class GraalJSAccess {
     }
 
     public Object symbolNew(Object name) {
-        return Symbol.create((String) name);
+        return Symbol.create(flatString(name));
     }
 
     public Object symbolName(Object symbol) {
@@ -1302,10 +1366,10 @@ public final class GraalJSAccess {
         return functionData.getConstructTarget().call(callArguments);
     }
 
-    public void functionSetName(Object function, String name) {
+    public void functionSetName(Object function, Object name) {
         DynamicObject functionObject = (DynamicObject) function;
         JSFunctionData functionData = JSFunction.getFunctionData(functionObject);
-        functionData.setName(name);
+        functionData.setName(flatString(name));
     }
 
     public String functionGetName(Object function) {
@@ -1482,7 +1546,7 @@ public final class GraalJSAccess {
 
     public void functionTemplateSetClassName(Object templateObj, Object name) {
         FunctionTemplate functionTemplate = (FunctionTemplate) templateObj;
-        functionTemplate.setClassName((String) name);
+        functionTemplate.setClassName(flatString(name));
         ObjectTemplate instanceTemplate = functionTemplate.getInstanceTemplate();
         instanceTemplate.addValue(new Value(Symbol.SYMBOL_TO_STRING_TAG, name, JSAttributes.configurableEnumerableWritable()));
     }
@@ -1585,10 +1649,21 @@ public final class GraalJSAccess {
                 instance = JSUserObject.createWithPrototype(prototype, jsContext);
                 instance.define(FunctionTemplate.CONSTRUCTOR, parentFunctionTemplate);
             }
+            if (jsRealm == mainJSRealm && jsContext.getRealm() == jsRealm) {
+                // fresh ordinary object: use the cached template nodes
+                CallTarget instantiate = template.getInstantiateCallTarget();
+                if (instantiate == null) {
+                    instantiate = ObjectTemplateNode.createInstantiateCallTarget(template, jsContext, this);
+                    template.setInstantiateCallTarget(instantiate);
+                }
+                instantiate.call(instance);
+            } else {
+                objectTemplateInstantiate(jsRealm, templateObj, instance);
+            }
         } else {
             instance = functionTemplateCreateCallback(jsContext, jsRealm, functionHandler);
+            objectTemplateInstantiate(jsRealm, templateObj, instance);
         }
-        objectTemplateInstantiate(jsRealm, templateObj, instance);
         if (template.hasPropertyHandler()) {
             instance = propertyHandlerInstantiate(jsContext, jsRealm, template, instance, false);
         }
@@ -1734,13 +1809,14 @@ public final class GraalJSAccess {
         template.setFunctionHandler(functionHandler);
     }
 
-    public Object scriptCompilerCompileFunctionInContext(Object context, String sourceName, String body, Object[] arguments, Object[] exts, Object hostDefinedOptions) {
+    public Object scriptCompilerCompileFunctionInContext(Object context, Object sourceNameObject, Object bodyObject, Object[] arguments, Object[] exts, Object hostDefinedOptions) {
+        String sourceName = flatString(sourceNameObject);
+        String body = flatString(bodyObject);
         if (VERBOSE) {
             System.err.println("FUNCTION IN CONTEXT: " + sourceName);
         }
         JSRealm realm = (JSRealm) context;
         JSContext jsContext = realm.getContext();
-        Evaluator nodeEvaluator = jsContext.getEvaluator();
         Object extraArgument = getExtraArgumentOfInternalScript(sourceName, jsContext);
         Object[] extensions;
         ByteBuffer snapshot = null;
@@ -1766,13 +1842,6 @@ public final class GraalJSAccess {
         }
         String parameterList = params.toString();
 
-        try {
-            GraalJSParserHelper.checkFunctionSyntax(jsContext, jsContext.getParserOptions(), parameterList, body, false, false);
-        } catch (com.oracle.js.parser.ParserException ex) {
-            // throw the correct JS error
-            nodeEvaluator.parseFunction(jsContext, parameterList, body, false, false, sourceName);
-        }
-
         StringBuilder code = new StringBuilder();
 
         boolean anyExtension = extensions.length > 0;
@@ -1811,14 +1880,51 @@ public final class GraalJSAccess {
         }
 
         if (snapshot == null) {
-            DynamicObject fn = (DynamicObject) nodeEvaluator.evaluate(realm, null, source);
+            ScriptNode scriptNode = getCompiledFunctionScript(realm, source, parameterList, body);
+            DynamicObject fn = (DynamicObject) scriptNode.run(realm);
             return anyExtension ? JSFunction.call(fn, Undefined.instance, extensions) : fn;
         } else {
+            checkFunctionSyntax(jsContext, parameterList, body, sourceName);
             ScriptNode scriptNode = parseScriptNodeFromSnapshot(jsContext, source, snapshot);
             return scriptNode.run(realm);
         }
     }
 
+    private static void checkFunctionSyntax(JSContext context, String parameterList, String body, String sourceName) {
+        try {
+            GraalJSParserHelper.checkFunctionSyntax(context, context.getParserOptions(), parameterList, body, false, false);
+        } catch (com.oracle.js.parser.ParserException ex) {
+            // throw the correct JS error
+            context.getEvaluator().parseFunction(context, parameterList, body, false, false, sourceName);
+        }
+    }
+
+    /**
+     * Returns the translated wrapper script of a function compiled in context. The source of the
+     * wrapper determines the source name, the parameter names and the number of extensions, so it
+     * is used as the cache key. Scripts are reused by all realms of this isolate (i.e., by
+     * {@code vm} contexts). Other isolates (i.e., Workers) have their own cache.
+     */
+    private static ScriptNode getCompiledFunctionScript(JSRealm realm, Source source, String parameterList, String body) {
+        JSContext context = realm.getContext();
+        ContextData contextData = (ContextData) context.getEmbedderData();
+        ScriptNode scriptNode = contextData.getCompiledFunctionCache().get(source);
+        if (scriptNode == null) {
+            JSParserOptions options = context.getParserOptions();
+            checkFunctionSyntax(context, parameterList, body, source.getName());
+            FunctionNode parseResult = GraalJSParserHelper.parseScript(context, source, options);
+            NodeFactory factory = NodeFactory.getInstance(context);
+            Object prev = realm.getTruffleContext().enter();
+            try {
+                scriptNode = JavaScriptTranslator.translateFunction(factory, context, null, source, options.isStrict(), parseResult);
+            } finally {
+                realm.getTruffleContext().leave(prev);
+            }
+            contextData.getCompiledFunctionCache().put(source, scriptNode);
+        }
+        return scriptNode;
+    }
+
     public Object scriptCompile(Object context, Object sourceCode, Object fileName, Object hostDefinedOptions) {
         UnboundScript unboundScript = (UnboundScript) unboundScriptCompile(sourceCode, fileName, hostDefinedOptions);
         return unboundScriptBindToContext(context, unboundScript);
@@ -1918,8 +2024,8 @@ public final class GraalJSAccess {
     }
 
     public Object unboundScriptCompile(Object sourceCode, Object fileName, Object hostDefinedOptions) {
-        String sourceCodeStr = (String) sourceCode;
-        String fileNameStr = (String) fileName;
+        String sourceCodeStr = flatString(sourceCode);
+        String fileNameStr = flatString(fileName);
         Source source = UnboundScript.createSource(internSourceCode(sourceCodeStr), fileNameStr);
 
         hostDefinedOptionsMap.put(source, hostDefinedOptions);
@@ -2670,6 +2776,11 @@ public final class GraalJSAccess {
     }
 
     public void isolateDispose(boolean exit, int status) {
+        // pending timeouts of Atomics.waitAsync must not wake the disposed isolate
+        agent.setThread(null, 0);
+        if (nativeBoundaryProfiler != null) {
+            nativeBoundaryProfiler.dump(System.err);
+        }
         if (exit) {
             exit(status);
         }
@@ -2778,7 +2889,7 @@ public final class GraalJSAccess {
         }
         Object previous = mainJSRealm.getTruffleContext().enter();
         if (list.isEmpty()) {
-            agent.setThread(Thread.currentThread());
+            agent.setThread(Thread.currentThread(), isolate);
         }
         list.push(new Pair<>(isolate, previous));
     }
@@ -2789,7 +2900,7 @@ public final class GraalJSAccess {
         assert pair.getFirst() == isolate;
         mainJSRealm.getTruffleContext().leave(pair.getSecond());
         if (list.isEmpty()) {
-            agent.setThread(null);
+            agent.setThread(null, 0);
             return 0;
         } else {
             return list.peekLast().getFirst();
@@ -2827,6 +2938,25 @@ public final class GraalJSAccess {
         pollWeakCallbackQueue(false);
     }
 
+    /**
+     * Creates a string whose content stays in the native memory of the given external resource.
+     * The resource is disposed (through {@code callbackPointer}) once the string is garbage
+     * collected.
+     */
+    public Object stringNewExternal(ByteBuffer buffer, boolean oneByte, long resource, long callbackPointer) {
+        JSExternalString string = JSExternalString.create(buffer, oneByte);
+        stringExternalResourceCallback(string, resource, callbackPointer);
+        return string;
+    }
+
+    /**
+     * Flattens a string passed from the native code. It is a {@code String} unless it is an
+     * external string.
+     */
+    private static String flatString(Object string) {
+        return (string == null) ? null : JSRuntime.toStringIsString(string);
+    }
+
     public Object proxyGetTarget(Object proxy) {
         return JSProxy.getTarget((DynamicObject) proxy);
     }
@@ -2848,7 +2978,7 @@ public final class GraalJSAccess {
     }
 
     public Object stringObjectNew(Object context, Object value) {
-        return JSString.create(((JSRealm) context).getContext(), (String) value);
+        return JSString.create(((JSRealm) context).getContext(), flatString(value));
     }
 
     public String stringObjectValueOf(Object object) {
@@ -2879,7 +3009,7 @@ public final class GraalJSAccess {
 
     public Object regexpNew(Object context, Object pattern, int flags) {
         JSContext jsContext = ((JSRealm) context).getContext();
-        return regexpCreate(jsContext, (String) pattern, flags);
+        return regexpCreate(jsContext, flatString(pattern), flags);
     }
 
     public static Object regexpCreate(JSContext context, String pattern, int v8Flags) {
@@ -2960,7 +3090,7 @@ public final class GraalJSAccess {
     }
 
     public Object jsonParse(Object context, Object string) {
-        return GraalJSParserHelper.parseJSON((String) string, ((JSRealm) context).getContext());
+        return GraalJSParserHelper.parseJSON(flatString(string), ((JSRealm) context).getContext());
     }
 
     public String jsonStringify(Object context, Object object, String gap) {
@@ -3035,8 +3165,8 @@ public final class GraalJSAccess {
     public Object moduleCompile(Object context, Object sourceCode, Object name, Object hostDefinedOptions) {
         JSContext jsContext = ((JSRealm) context).getContext();
         NodeFactory factory = NodeFactory.getInstance(jsContext);
-        String moduleName = (String) name;
-        Source.LiteralBuilder builder = Source.newBuilder(JavaScriptLanguage.ID, (String) sourceCode, moduleName);
+        String moduleName = flatString(name);
+        Source.LiteralBuilder builder = Source.newBuilder(JavaScriptLanguage.ID, flatString(sourceCode), moduleName);
         try {
             builder = builder.uri(new URI(moduleName));
         } catch (URISyntaxException usex) {
@@ -3116,12 +3246,14 @@ public final class GraalJSAccess {
         return System.identityHashCode(module);
     }
 
-    public Object moduleCreateSyntheticModule(String moduleName, Object[] exportNames, final long evaluationStepsCallback) {
+    public Object moduleCreateSyntheticModule(Object moduleNameObject, Object[] exportNames, final long evaluationStepsCallback) {
+        String moduleName = flatString(moduleNameObject);
         FrameDescriptor frameDescriptor = new FrameDescriptor(Undefined.instance);
         List<Module.ExportEntry> localExportEntries = new ArrayList<>();
-        for (Object exportName : exportNames) {
+        for (Object exportNameObject : exportNames) {
+            String exportName = flatString(exportNameObject);
             frameDescriptor.addFrameSlot(exportName);
-            localExportEntries.add(Module.ExportEntry.exportSpecifier((String) exportName));
+            localExportEntries.add(Module.ExportEntry.exportSpecifier(exportName));
         }
         Module moduleNode = new Module(Collections.emptyList(), Collections.emptyList(), localExportEntries, Collections.emptyList(), Collections.emptyList(), null, null);
         Source source = Source.newBuilder(JavaScriptLanguage.ID, "<unavailable>", moduleName).build();
@@ -3152,10 +3284,10 @@ public final class GraalJSAccess {
         return moduleRecord;
     }
 
-    public void moduleSetSyntheticModuleExport(Object module, String exportName, Object exportValue) {
+    public void moduleSetSyntheticModuleExport(Object module, Object exportName, Object exportValue) {
         JSModuleRecord moduleRecord = (JSModuleRecord) module;
         FrameDescriptor frameDescriptor = moduleRecord.getFrameDescriptor();
-        FrameSlot frameSlot = frameDescriptor.findFrameSlot(exportName);
+        FrameSlot frameSlot = frameDescriptor.findFrameSlot(flatString(exportName));
         MaterializedFrame frame = moduleRecord.getEnvironment();
         frame.setObject(frameSlot, exportValue);
     }
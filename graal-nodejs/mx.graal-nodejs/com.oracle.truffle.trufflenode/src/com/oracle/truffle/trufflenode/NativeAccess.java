@@ -51,7 +51,7 @@ public final class NativeAccess {
     private NativeAccess() {
     }
 
-    public static native Object executeFunction(int id, Object[] arguments, boolean isNew, boolean isNewTarget, Object context);
+    public static native Object executeFunction(int id, Object[] arguments, boolean isNew, boolean isNewTarget, boolean typesInSharedBuffer, Object context);
 
     public static native Object executeFunction0(
                     int id,
@@ -162,4 +162,6 @@ public final class NativeAccess {
 
     public static native Object syntheticModuleEvaluationSteps(long callback, Object context, Object module);
 
+    public static native void wakeAgent(long isolate);
+
 }
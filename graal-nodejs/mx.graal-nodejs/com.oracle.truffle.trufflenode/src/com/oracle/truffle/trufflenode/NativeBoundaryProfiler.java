@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.trufflenode.info.FunctionTemplate;
+import com.oracle.truffle.trufflenode.info.ObjectTemplate;
+
+/**
+ * Built-in profiler of the transitions from Java to the native code (i.e. of {@link NativeAccess}
+ * calls). It is enabled by {@code --native-profiler} option. The number of calls and the time spent
+ * in the native code is collected per entry point (function template, accessor or property
+ * handler) and printed to the standard error output when the isolate is disposed, so that the
+ * output of the application is not affected. The transitions in the opposite direction
+ * ({@link GraalJSAccess} calls) are counted by the native part of the profiler.
+ */
+public final class NativeBoundaryProfiler {
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final long startTime = System.nanoTime();
+
+    private static final class Counter {
+        private long calls;
+        private long time;
+    }
+
+    /**
+     * Returns the label of the native function with the given template ID.
+     */
+    public static String functionLabel(int templateID, String name) {
+        return "function #" + templateID + " " + (name.isEmpty() ? "<anonymous>" : name);
+    }
+
+    /**
+     * Returns the label of the native accessor with the given name.
+     */
+    public static String accessorLabel(String name, boolean getter) {
+        return (getter ? "getter " : "setter ") + name;
+    }
+
+    /**
+     * Returns the label of the native property handler of the given template.
+     */
+    public static String propertyHandlerLabel(ObjectTemplate template, String mode) {
+        FunctionTemplate parent = template.getParentFunctionTemplate();
+        return "property handler " + ((parent == null) ? "" : "#" + parent.getID() + " ") + mode;
+    }
+
+    /**
+     * Records one call of the native entry point.
+     *
+     * @param label label of the entry point
+     * @param elapsedTime time (in nanoseconds) spent in the native code
+     */
+    @TruffleBoundary
+    public void record(String label, long elapsedTime) {
+        Counter counter = counters.get(label);
+        if (counter == null) {
+            counter = new Counter();
+            counters.put(label, counter);
+        }
+        counter.calls++;
+        counter.time += elapsedTime;
+    }
+
+    @TruffleBoundary
+    public void dump(PrintStream out) {
+        double window = (System.nanoTime() - startTime) / 1_000_000.0;
+        List<Map.Entry<String, Counter>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort((e1, e2) -> Long.compare(e2.getValue().time, e1.getValue().time));
+        long totalCalls = 0;
+        long totalTime = 0;
+        out.println();
+        out.println("=== Time spent in native calls (JS->C++) ===");
+        for (Map.Entry<String, Counter> entry : entries) {
+            Counter counter = entry.getValue();
+            double time = counter.time / 1_000_000.0;
+            out.println(String.format("[%6.2f %%] %-80s |time %10.3f ms |#calls %9d |avg %8.3f us", (time / window) * 100, entry.getKey(), time, counter.calls,
+                            counter.time / (counter.calls * 1000.0)));
+            totalCalls += counter.calls;
+            totalTime += counter.time;
+        }
+        out.println(String.format("total native time %.3f ms, total native calls %d, sampling interval %.3f ms", totalTime / 1_000_000.0, totalCalls, window));
+    }
+
+}
@@ -40,43 +40,31 @@
  */
 package com.oracle.truffle.trufflenode;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
-
 import com.oracle.truffle.js.runtime.JSAgent;
 
 public class NodeJSAgent extends JSAgent {
-    // The set of active agents, i.e., agents that entered an isolate
-    private static final Set<NodeJSAgent> agents = Collections.synchronizedSet(new HashSet<>());
     private Thread thread;
+    // The native isolate while it is entered, 0 otherwise
+    private long isolate;
 
     NodeJSAgent() {
         super(true);
     }
 
-    void setThread(Thread thread) {
+    synchronized void setThread(Thread thread, long isolate) {
         this.thread = thread;
-        if (thread == null) {
-            agents.remove(this);
-        } else {
-            agents.add(this);
-        }
+        this.isolate = isolate;
     }
 
-    Thread getThread() {
+    synchronized Thread getThread() {
         return thread;
     }
 
     @Override
-    public void wakeAgent(int w) {
-        synchronized (agents) {
-            for (NodeJSAgent agent : agents) {
-                if (agent.getSignifier() == w) {
-                    agent.thread.interrupt();
-                    break;
-                }
-            }
+    public synchronized void wakeAgent() {
+        // An agent that is not entered processes its promise jobs when it is entered again.
+        if (isolate != 0) {
+            NativeAccess.wakeAgent(isolate);
         }
     }
 
@@ -60,10 +60,12 @@ import com.oracle.truffle.js.runtime.JSTruffleOptions;
 public final class Options {
     private final Context.Builder contextBuilder;
     private final boolean exposeGC;
+    private final boolean nativeProfiler;
 
-    private Options(Context.Builder contextBuilder, boolean exposeGC) {
+    private Options(Context.Builder contextBuilder, boolean exposeGC, boolean nativeProfiler) {
         this.contextBuilder = contextBuilder;
         this.exposeGC = exposeGC;
+        this.nativeProfiler = nativeProfiler;
     }
 
     public static Options parseArguments(String[] args) throws Exception {
@@ -77,7 +79,7 @@ public final class Options {
             parser = clazz.getDeclaredConstructor().newInstance();
         }
         Object[] result = parser.apply(args);
-        return new Options((Context.Builder) result[0], (Boolean) result[1]);
+        return new Options((Context.Builder) result[0], (Boolean) result[1], (Boolean) result[2]);
     }
 
     @SuppressWarnings("unchecked")
@@ -105,6 +107,10 @@ public final class Options {
         return exposeGC;
     }
 
+    public boolean isNativeProfilerEnabled() {
+        return nativeProfiler;
+    }
+
     public static class OptionsParser extends AbstractLanguageLauncher implements Function<String[], Object[]> {
         private static final String INSPECT = "inspect";
         private static final String INSPECT_SUSPEND = "inspect.Suspend";
@@ -112,6 +118,7 @@ public final class Options {
 
         private Context.Builder contextBuilder;
         private boolean exposeGC;
+        private boolean nativeProfiler;
         private boolean polyglot;
 
         // Options that should not be passed to polyglot engine (they are processed
@@ -151,7 +158,7 @@ public final class Options {
                 // launch(Context.Builder) was not called (i.e. help was printed) => exit
                 System.exit(0);
             }
-            return new Object[]{contextBuilder, exposeGC};
+            return new Object[]{contextBuilder, exposeGC, nativeProfiler};
         }
 
         private String[] filterArguments(String[] args) {
@@ -207,6 +214,10 @@ public final class Options {
                     exposeGC = true;
                     continue;
                 }
+                if ("native-profiler".equals(normalizedKey)) {
+                    nativeProfiler = true;
+                    continue;
+                }
                 if (INSPECT_SUSPEND.equals(key)) {
                     polyglotOptions.put(INSPECT_SUSPEND, valueOrTrue(value));
                     continue;
@@ -287,6 +298,7 @@ public final class Options {
             printOption("-r, --require",         "module to preload (option can be repeated)");
             printOption("--inspect[=port]",      "activate inspector on port (overrides options of Chrome Inspector)");
             printOption("--inspect-brk[=port]",  "activate inspector on port and break at start of user script (overrides options of Chrome Inspector)");
+            printOption("--native-profiler",     "count and time the transitions between JavaScript and native code, print a histogram to stderr at exit");
         }
 
         private static void printOption(String option, String description) {
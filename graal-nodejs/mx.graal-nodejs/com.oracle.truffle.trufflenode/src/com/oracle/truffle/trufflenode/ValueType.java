@@ -74,6 +74,8 @@ public interface ValueType {
     int BIG_INT_VALUE = 31;
     int BIGINT64ARRAY_OBJECT = 32;
     int BIGUINT64ARRAY_OBJECT = 33;
+    int EXTERNAL_ONE_BYTE_STRING_VALUE = 34;
+    int EXTERNAL_TWO_BYTE_STRING_VALUE = 35;
 
     int UNKNOWN_TYPE = -1;
 }
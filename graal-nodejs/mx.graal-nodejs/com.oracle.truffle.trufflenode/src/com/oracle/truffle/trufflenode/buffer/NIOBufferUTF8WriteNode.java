@@ -60,6 +60,7 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 
 public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
@@ -78,6 +79,18 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         return GraalJSAccess.getRealmEmbedderData(getContext().getRealm()).getNativeUtf8Write();
     }
 
+    /**
+     * External strings are encoded directly from their native memory, without being flattened.
+     */
+    @Specialization(guards = "accept(target)")
+    public Object writeExternal(DynamicObject target, JSExternalString str, int destOffset, int bytes) {
+        try {
+            return doWrite(target, str, destOffset, bytes);
+        } catch (CharacterCodingException e) {
+            return doNativeFallback(target, str, destOffset, bytes);
+        }
+    }
+
     @Specialization(guards = "accept(target)")
     public Object write(DynamicObject target, String str, int destOffset, int bytes) {
         try {
@@ -125,12 +138,12 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         throw Errors.createTypeErrorArrayBufferViewExpected();
     }
 
-    private Object doNativeFallback(DynamicObject target, String str, Object destOffset, Object bytes) {
+    private Object doNativeFallback(DynamicObject target, CharSequence str, Object destOffset, Object bytes) {
         nativePath.enter();
         return JSFunction.call(getNativeUtf8Write(), target, new Object[]{str, destOffset, bytes});
     }
 
-    private int doWrite(DynamicObject target, String str, int destOffset, int bytes) throws CharacterCodingException {
+    private int doWrite(DynamicObject target, CharSequence str, int destOffset, int bytes) throws CharacterCodingException {
         boolean isArrayBufferView = JSArrayBufferView.isJSArrayBufferView(target);
         DynamicObject arrayBuffer = getArrayBuffer(target, isArrayBufferView);
         int bufferOffset = getOffset(target, isArrayBufferView);
@@ -154,7 +167,7 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
     }
 
     @TruffleBoundary
-    private static CoderResult doEncode(String str, ByteBuffer buffer) {
+    private static CoderResult doEncode(CharSequence str, ByteBuffer buffer) {
         CharsetEncoder encoder = utf8.newEncoder();
         encoder.onMalformedInput(CodingErrorAction.REPORT);
         encoder.onUnmappableCharacter(CodingErrorAction.REPORT);
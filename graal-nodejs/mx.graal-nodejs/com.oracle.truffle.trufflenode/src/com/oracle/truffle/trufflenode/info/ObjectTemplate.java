@@ -44,6 +44,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import com.oracle.truffle.api.CallTarget;
+
 /**
  *
  * @author Jan Stola
@@ -57,6 +59,8 @@ public final class ObjectTemplate {
     private boolean stringKeysOnly;
     private FunctionTemplate functionHandler;
     private FunctionTemplate parentFunctionTemplate;
+    /** Instantiates the template in the main realm, {@code null} until the first instance. */
+    private CallTarget instantiateCallTarget;
 
     public List<Accessor> getAccessors() {
         return (accessors == null) ? Collections.emptyList() : accessors;
@@ -67,6 +71,7 @@ public final class ObjectTemplate {
             accessors = new ArrayList<>();
         }
         accessors.add(accessor);
+        instantiateCallTarget = null;
     }
 
     public List<Value> getValues() {
@@ -78,10 +83,12 @@ public final class ObjectTemplate {
             values = new ArrayList<>();
         }
         values.add(value);
+        instantiateCallTarget = null;
     }
 
     public void setIndexedPropertyHandler(PropertyHandler indexedPropertyHandler) {
         this.indexedPropertyHandler = indexedPropertyHandler;
+        instantiateCallTarget = null;
     }
 
     public PropertyHandler getIndexedPropertyHandler() {
@@ -91,6 +98,7 @@ public final class ObjectTemplate {
     public void setNamedPropertyHandler(PropertyHandler namedPropertyHandler, boolean stringKeysOnly) {
         this.namedPropertyHandler = namedPropertyHandler;
         this.stringKeysOnly = stringKeysOnly;
+        instantiateCallTarget = null;
     }
 
     public PropertyHandler getNamedPropertyHandler() {
@@ -121,4 +129,12 @@ public final class ObjectTemplate {
         return parentFunctionTemplate;
     }
 
+    public CallTarget getInstantiateCallTarget() {
+        return instantiateCallTarget;
+    }
+
+    public void setInstantiateCallTarget(CallTarget instantiateCallTarget) {
+        this.instantiateCallTarget = instantiateCallTarget;
+    }
+
 }
@@ -53,6 +53,7 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
+import com.oracle.truffle.trufflenode.NativeBoundaryProfiler;
 import com.oracle.truffle.trufflenode.info.Accessor;
 import com.oracle.truffle.trufflenode.info.FunctionTemplate;
 
@@ -67,6 +68,8 @@ public class ExecuteNativeAccessorNode extends JavaScriptRootNode {
     private final FunctionTemplate signature;
     private final boolean getter;
     private final BranchProfile errorBranch = BranchProfile.create();
+    private final NativeBoundaryProfiler profiler;
+    private final String profilerLabel;
     @Child private GetPrototypeNode getPrototypeNode;
     @Child private PropertyGetNode prototypePropertyGetNode;
     @Child private PropertyGetNode holderPropertyGetNode;
@@ -76,6 +79,8 @@ public class ExecuteNativeAccessorNode extends JavaScriptRootNode {
         this.accessor = accessor;
         this.signature = accessor.getSignature();
         this.getter = getter;
+        this.profiler = graalAccess.getNativeBoundaryProfiler();
+        this.profilerLabel = (profiler == null) ? null : NativeBoundaryProfiler.accessorLabel(accessor.getName(), getter);
         this.getPrototypeNode = GetPrototypeNode.create();
         this.prototypePropertyGetNode = PropertyGetNode.create(JSObject.PROTOTYPE, false, context);
         this.holderPropertyGetNode = PropertyGetNode.createGetHidden(GraalJSAccess.HOLDER_KEY, context);
@@ -101,7 +106,16 @@ public class ExecuteNativeAccessorNode extends JavaScriptRootNode {
             return false;
         }
         Object holder = holderPropertyGetNode.getValue(arguments[1]);
-        return executeAccessorMethod(functionPointer, holder, arguments);
+        if (profiler == null) {
+            return executeAccessorMethod(functionPointer, holder, arguments);
+        } else {
+            long startTime = System.nanoTime();
+            try {
+                return executeAccessorMethod(functionPointer, holder, arguments);
+            } finally {
+                profiler.record(profilerLabel, System.nanoTime() - startTime);
+            }
+        }
     }
 
     @CompilerDirectives.TruffleBoundary
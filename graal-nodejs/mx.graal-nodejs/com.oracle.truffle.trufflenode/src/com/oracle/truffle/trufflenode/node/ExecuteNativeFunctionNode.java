@@ -62,6 +62,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
+import com.oracle.truffle.trufflenode.NativeBoundaryProfiler;
 import com.oracle.truffle.trufflenode.info.FunctionTemplate;
 import com.oracle.truffle.trufflenode.info.ObjectTemplate;
 
@@ -81,6 +82,8 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
     private final ConditionProfile argumentLengthTwo = ConditionProfile.createBinaryProfile();
     private final int templateID;
     private final long functionPointer;
+    private final NativeBoundaryProfiler profiler;
+    private final String profilerLabel;
 
     private static final int IMPLICIT_ARG_COUNT = 2;
     private static final int EXPLICIT_ARG_COUNT = 6;
@@ -104,6 +107,8 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
         this.isNewTarget = isNewTarget;
         this.templateID = template.getID();
         this.functionPointer = template.getFunctionPointer();
+        this.profiler = graalAccess.getNativeBoundaryProfiler();
+        this.profilerLabel = (profiler == null) ? null : NativeBoundaryProfiler.functionLabel(templateID, JSFunction.getFunctionData(template.getFunctionObject()).getName());
 
         this.valueTypeNodes = new ValueTypeNode[IMPLICIT_ARG_COUNT + EXPLICIT_ARG_COUNT];
         this.flattenNodes = new FlattenNode[EXPLICIT_ARG_COUNT];
@@ -147,7 +152,17 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
         Object newTarget = isNew ? (isNewTarget ? arguments[2] : arguments[1]) : null;
         if (isTemplate.profile(functionPointer == 0)) {
             result = thisObject;
-        } else if (eightOrLessArgs.profile(arguments.length <= IMPLICIT_ARG_COUNT + EXPLICIT_ARG_COUNT + offset)) {
+        } else if (profiler == null) {
+            result = executeNativeFunction(arguments, thisObject, newTarget, offset, realm);
+        } else {
+            result = executeNativeFunctionProfiled(arguments, thisObject, newTarget, offset, realm);
+        }
+        return graalAccess.correctReturnValue(result);
+    }
+
+    private Object executeNativeFunction(Object[] arguments, Object thisObject, Object newTarget, int offset, JSRealm realm) {
+        Object result;
+        if (eightOrLessArgs.profile(arguments.length <= IMPLICIT_ARG_COUNT + EXPLICIT_ARG_COUNT + offset)) {
             int thisType = getValueType(0, thisObject);
             Object calleeObject = arguments[1];
             if (argumentLengthTwo.profile(arguments.length == 2 + offset)) {
@@ -195,7 +210,16 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
         } else {
             result = executeFunction(arguments, realm);
         }
-        return graalAccess.correctReturnValue(result);
+        return result;
+    }
+
+    private Object executeNativeFunctionProfiled(Object[] arguments, Object thisObject, Object newTarget, int offset, JSRealm realm) {
+        long startTime = System.nanoTime();
+        try {
+            return executeNativeFunction(arguments, thisObject, newTarget, offset, realm);
+        } finally {
+            profiler.record(profilerLabel, System.nanoTime() - startTime);
+        }
     }
 
     private void objectTemplateInstantiate(VirtualFrame frame, DynamicObject thisObject, JSRealm realm) {
@@ -270,7 +294,8 @@ public class ExecuteNativeFunctionNode extends JavaScriptNode {
 
     @CompilerDirectives.TruffleBoundary
     private Object executeFunction(Object[] arguments, JSRealm realm) {
-        return NativeAccess.executeFunction(templateID, arguments, isNew, isNewTarget, realm);
+        boolean typesInSharedBuffer = graalAccess.valueTypes(arguments, isNewTarget ? 3 : 2);
+        return NativeAccess.executeFunction(templateID, arguments, isNew, isNewTarget, typesInSharedBuffer, realm);
     }
 
     @CompilerDirectives.TruffleBoundary
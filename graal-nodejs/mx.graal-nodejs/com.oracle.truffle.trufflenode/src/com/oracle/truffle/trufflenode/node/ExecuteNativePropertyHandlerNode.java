@@ -62,6 +62,7 @@ import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
+import com.oracle.truffle.trufflenode.NativeBoundaryProfiler;
 import com.oracle.truffle.trufflenode.info.ObjectTemplate;
 import com.oracle.truffle.trufflenode.info.PropertyHandler;
 
@@ -75,6 +76,8 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
     private final Object indexedHandlerData;
     private final Mode mode;
     private final boolean stringKeysOnly;
+    private final NativeBoundaryProfiler profiler;
+    private final String profilerLabel;
 
     @Child private PropertyGetNode holderPropertyGetNode;
 
@@ -98,6 +101,8 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         this.stringKeysOnly = template.getStringKeysOnly();
         this.proxy = proxy;
         this.mode = mode;
+        this.profiler = graalAccess.getNativeBoundaryProfiler();
+        this.profilerLabel = (profiler == null) ? null : NativeBoundaryProfiler.propertyHandlerLabel(template, mode.name());
         this.holderPropertyGetNode = PropertyGetNode.createGetHidden(GraalJSAccess.HOLDER_KEY, context);
     }
 
@@ -105,7 +110,16 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
     public Object execute(VirtualFrame frame) {
         Object[] arguments = frame.getArguments();
         Object holder = holderPropertyGetNode.getValue(arguments[1]);
-        return executePropertyHandlerMethod(holder, arguments);
+        if (profiler == null) {
+            return executePropertyHandlerMethod(holder, arguments);
+        } else {
+            long startTime = System.nanoTime();
+            try {
+                return executePropertyHandlerMethod(holder, arguments);
+            } finally {
+                profiler.record(profilerLabel, System.nanoTime() - startTime);
+            }
+        }
     }
 
     private Object executePropertyHandlerMethod(Object holder, Object[] arguments) {
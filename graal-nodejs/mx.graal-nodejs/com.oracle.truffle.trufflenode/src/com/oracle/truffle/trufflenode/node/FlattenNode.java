@@ -52,8 +52,10 @@ import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.LargeInteger;
 import com.oracle.truffle.js.runtime.Symbol;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSSlicedString;
 
 @ImportStatic({JSObject.class, JSRuntime.class})
 abstract class FlattenNode extends JavaScriptBaseNode {
@@ -64,6 +66,17 @@ abstract class FlattenNode extends JavaScriptBaseNode {
         return value.toString();
     }
 
+    @Specialization
+    protected static Object doExternalString(JSExternalString value) {
+        // the native code reads the external resource directly
+        return value;
+    }
+
+    @Specialization
+    protected static String doSlicedString(JSSlicedString value) {
+        return value.toString();
+    }
+
     @Specialization
     protected static String doString(String value) {
         return value;
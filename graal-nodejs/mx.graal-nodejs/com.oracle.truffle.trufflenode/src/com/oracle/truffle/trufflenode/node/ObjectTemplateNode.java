@@ -41,8 +41,13 @@
 package com.oracle.truffle.trufflenode.node;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.object.DynamicObject;
@@ -56,8 +61,10 @@ import com.oracle.truffle.js.nodes.access.ObjectLiteralNode.ObjectLiteralMemberN
 import com.oracle.truffle.js.nodes.function.JSFunctionExpressionNode;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JavaScriptRootNode;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.Pair;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
@@ -88,8 +95,10 @@ public class ObjectTemplateNode extends JavaScriptBaseNode {
      */
     public static ObjectTemplateNode fromObjectTemplate(ObjectTemplate template, JSContext context, GraalJSAccess graalJSAccess) {
         List<ObjectLiteralNode.ObjectLiteralMemberNode> members = new ArrayList<>();
+        Set<Object> definedNames = new HashSet<>();
 
         for (Accessor accessor : template.getAccessors()) {
+            definedNames.add(accessor.getName());
             Pair<JSFunctionData, JSFunctionData> pair = accessor.getFunctions(context);
             JavaScriptNode getterNode = null;
             JavaScriptNode setterNode = null;
@@ -124,12 +133,16 @@ public class ObjectTemplateNode extends JavaScriptBaseNode {
                 JavaScriptNode getterNode = JSConstantNode.create(getter);
                 JavaScriptNode setterNode = JSConstantNode.create(setter);
                 members.add(ObjectLiteralNode.newAccessorMember(name, false, attributes, getterNode, setterNode));
-            } else if (name instanceof String || name instanceof Symbol) {
-                members.add(ObjectLiteralNode.newDataMember(name, false, attributes, valueNode));
+                definedNames.add(name);
             } else if (name instanceof HiddenKey) {
                 if (!template.hasPropertyHandler()) {
                     members.add(new InternalFieldNode(false, attributes, (HiddenKey) name, propertyValue, context));
                 } // else set on the proxy/handler
+            } else if (!definedNames.add(name)) {
+                // the property exists already: assign it like objectTemplateInstantiate does
+                members.add(new DuplicateValueNode(name, valueNode));
+            } else if (name instanceof String || name instanceof Symbol) {
+                members.add(ObjectLiteralNode.newDataMember(name, false, attributes, valueNode));
             } else {
                 members.add(ObjectLiteralNode.newComputedDataMember(JSConstantNode.create(name), false, attributes, valueNode));
             }
@@ -138,6 +151,59 @@ public class ObjectTemplateNode extends JavaScriptBaseNode {
         return new ObjectTemplateNode(members.toArray(ObjectLiteralNode.ObjectLiteralMemberNode.EMPTY), context);
     }
 
+    /**
+     * Creates a call target that instantiates the given template on the object passed as the
+     * first argument. The property nodes cache the shape transitions, i.e., repeated
+     * instantiations just walk the pre-built shape chain instead of defining the properties one
+     * by one.
+     *
+     * @see GraalJSAccess#objectTemplateNewInstance
+     */
+    public static CallTarget createInstantiateCallTarget(ObjectTemplate template, JSContext context, GraalJSAccess graalJSAccess) {
+        ObjectTemplateNode templateNode = fromObjectTemplate(template, context, graalJSAccess);
+        return Truffle.getRuntime().createCallTarget(new InstantiateRootNode(templateNode, context));
+    }
+
+    private static final class InstantiateRootNode extends JavaScriptRootNode {
+        @Child private ObjectTemplateNode templateNode;
+
+        InstantiateRootNode(ObjectTemplateNode templateNode, JSContext context) {
+            super(context.getLanguage(), null, null);
+            this.templateNode = templateNode;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return templateNode.executeWithObject(frame, (DynamicObject) frame.getArguments()[0]);
+        }
+    }
+
+    private static final class DuplicateValueNode extends ObjectLiteralNode.ObjectLiteralMemberNode {
+        private final Object name;
+        @Child JavaScriptNode valueNode;
+
+        private DuplicateValueNode(Object name, JavaScriptNode valueNode) {
+            super(false, 0);
+            this.name = name;
+            this.valueNode = valueNode;
+        }
+
+        @Override
+        public void executeVoid(VirtualFrame frame, DynamicObject receiver, DynamicObject homeObject, JSContext context) {
+            set(receiver, name, valueNode.execute(frame));
+        }
+
+        @TruffleBoundary
+        private static void set(DynamicObject receiver, Object name, Object value) {
+            JSObject.set(receiver, name, value);
+        }
+
+        @Override
+        protected ObjectLiteralMemberNode copyUninitialized() {
+            return new DuplicateValueNode(name, JavaScriptNode.cloneUninitialized(valueNode));
+        }
+    }
+
     private static final class InternalFieldNode extends ObjectLiteralNode.ObjectLiteralMemberNode {
         @Child PropertySetNode setNode;
         private final Object value;
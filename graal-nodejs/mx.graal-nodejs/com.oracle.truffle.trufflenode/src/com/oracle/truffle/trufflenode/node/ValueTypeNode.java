@@ -51,6 +51,8 @@ import static com.oracle.truffle.trufflenode.ValueType.BOOLEAN_VALUE_TRUE;
 import static com.oracle.truffle.trufflenode.ValueType.DATA_VIEW_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.DATE_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.EXTERNAL_OBJECT;
+import static com.oracle.truffle.trufflenode.ValueType.EXTERNAL_ONE_BYTE_STRING_VALUE;
+import static com.oracle.truffle.trufflenode.ValueType.EXTERNAL_TWO_BYTE_STRING_VALUE;
 import static com.oracle.truffle.trufflenode.ValueType.FLOAT32ARRAY_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.FLOAT64ARRAY_OBJECT;
 import static com.oracle.truffle.trufflenode.ValueType.FUNCTION_OBJECT;
@@ -99,6 +101,7 @@ import com.oracle.truffle.js.runtime.builtins.JSPromise;
 import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.builtins.JSSet;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSExternalString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.JSExternalObject;
@@ -310,7 +313,16 @@ abstract class ValueTypeNode extends JavaScriptBaseNode {
         return ORDINARY_OBJECT;
     }
 
-    @Specialization(guards = "isLazyString(value)")
+    @Specialization
+    protected static int doExternalString(JSExternalString value) {
+        return value.isOneByte() ? EXTERNAL_ONE_BYTE_STRING_VALUE : EXTERNAL_TWO_BYTE_STRING_VALUE;
+    }
+
+    protected static boolean isExternalString(Object value) {
+        return value instanceof JSExternalString;
+    }
+
+    @Specialization(guards = {"isLazyString(value)", "!isExternalString(value)"})
     protected static int doCharSequence(CharSequence value) {
         return LAZY_STRING_VALUE;
     }
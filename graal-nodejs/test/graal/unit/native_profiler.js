@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019, 2019, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+var assert = require('assert');
+var spawnSync = require('child_process').spawnSync;
+
+function callCounts(stderr, pattern) {
+    var counts = [];
+    stderr.split('\n').forEach(function (line) {
+        var match = pattern.exec(line);
+        if (match) {
+            counts.push({label: match[1], calls: parseInt(match[2])});
+        }
+    });
+    return counts;
+}
+
+describe.skipOnNode('NativeProfiler', function () {
+    this.timeout(20000);
+    it('should count the native calls per entry point', function () {
+        var code = `var unit = require(${JSON.stringify(require.resolve('./_unit'))});
+                    for (var i = 0; i < 1234; i++) unit.ObjectTemplate_NewInstance();
+                    for (var i = 0; i < 4321; i++) unit.ObjectTemplate_DefaultInternalFieldCount();
+                    var obj = unit.ObjectTemplate_CreateWithAccessor('myAccess');
+                    for (var i = 0; i < 7; i++) obj.myAccess;
+                    console.log('done');`;
+        code = code.replace(/\n\s*/g, ' ');
+        var result = spawnSync(process.execPath, ['--native-profiler', '-e', code]);
+        assert.strictEqual(result.status, 0);
+        // the histograms must not be mixed into the output of the application
+        assert.strictEqual(result.stdout.toString(), 'done\n');
+
+        var stderr = result.stderr.toString();
+        assert.ok(stderr.indexOf('=== Time spent in native calls (JS->C++) ===') !== -1, stderr);
+        assert.ok(stderr.indexOf('=== Time spent in GraalJSAccess calls (C++->Java) ===') !== -1, stderr);
+
+        var functions = callCounts(stderr, /\] (function #\d+) .*\|#calls\s+(\d+)/);
+        var newInstance = functions.filter(f => f.calls === 1234);
+        var fieldCount = functions.filter(f => f.calls === 4321);
+        assert.strictEqual(newInstance.length, 1, stderr);
+        assert.strictEqual(fieldCount.length, 1, stderr);
+        // each function template is a separate entry point
+        assert.notStrictEqual(newInstance[0].label, fieldCount[0].label);
+
+        var getters = callCounts(stderr, /\] (getter myAccess) .*\|#calls\s+(\d+)/);
+        assert.deepStrictEqual(getters, [{label: 'getter myAccess', calls: 7}]);
+    });
+});
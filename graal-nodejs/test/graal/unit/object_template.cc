@@ -46,6 +46,13 @@
 void SimpleAccessorGetter(Local<Name> property, const PropertyCallbackInfo<Value>& info);
 void SimpleAccessorSetter(Local<Name> property, Local<Value> value, const PropertyCallbackInfo<void>& info);
 
+void ObjectTemplate_InterceptingGetter(Local<Name> property, const PropertyCallbackInfo<Value>& info) {
+    Isolate* isolate = info.GetIsolate();
+    if (property->IsString() && property.As<String>()->StrictEquals(String::NewFromUtf8(isolate, "intercepted", v8::NewStringType::kNormal).ToLocalChecked())) {
+        info.GetReturnValue().Set(true);
+    }
+}
+
 #endif
 
 // ObjectTemplate::NewInstance
@@ -112,4 +119,52 @@ EXPORT_TO_JS(CreateWithAccessor) {
     args.GetReturnValue().Set(objectTemplate->NewInstance(context).ToLocalChecked());
 }
 
+// ObjectTemplate::SetHandler
+
+EXPORT_TO_JS(SetHandlerAfterNewInstance) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<ObjectTemplate> objectTemplate = ObjectTemplate::New(isolate);
+    objectTemplate->SetInternalFieldCount(2);
+    objectTemplate->Set(args[0].As<String>(), args[1]);
+    Local<Array> result = Array::New(isolate, 2);
+    result->Set(context, 0, objectTemplate->NewInstance(context).ToLocalChecked());
+    objectTemplate->SetHandler(NamedPropertyHandlerConfiguration(ObjectTemplate_InterceptingGetter));
+    Local<Object> instance = objectTemplate->NewInstance(context).ToLocalChecked();
+    if (instance->InternalFieldCount() != 2) {
+        args.GetReturnValue().Set(false);
+        return;
+    }
+    result->Set(context, 1, instance);
+    args.GetReturnValue().Set(result);
+}
+
+// Template::Set with a duplicate name
+
+EXPORT_TO_JS(SetTwice) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<ObjectTemplate> objectTemplate = ObjectTemplate::New(isolate);
+    Local<String> name = args[0].As<String>();
+    objectTemplate->Set(name, args[1], args[3]->IsTrue() ? PropertyAttribute::ReadOnly : PropertyAttribute::None);
+    objectTemplate->Set(name, args[2]);
+    Local<Array> result = Array::New(isolate, 2);
+    result->Set(context, 0, objectTemplate->NewInstance(context).ToLocalChecked());
+    result->Set(context, 1, objectTemplate->NewInstance(context).ToLocalChecked());
+    args.GetReturnValue().Set(result);
+}
+
+EXPORT_TO_JS(SetAccessorAndValue) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<ObjectTemplate> objectTemplate = ObjectTemplate::New(isolate);
+    Local<String> name = args[0].As<String>();
+    objectTemplate->SetAccessor(name, SimpleAccessorGetter, SimpleAccessorSetter);
+    objectTemplate->Set(name, args[1]);
+    Local<Array> result = Array::New(isolate, 2);
+    result->Set(context, 0, objectTemplate->NewInstance(context).ToLocalChecked());
+    result->Set(context, 1, objectTemplate->NewInstance(context).ToLocalChecked());
+    args.GetReturnValue().Set(result);
+}
+
 #undef SUITE
@@ -79,5 +79,34 @@ describe('ObjectTemplate', function () {
             assert.strictEqual(obj.hasOwnProperty("mySetValue"), true);
         });
     });
+    describe('SetHandler', function () {
+        it('should apply to instances created after it was set', function () {
+            var instances = module.ObjectTemplate_SetHandlerAfterNewInstance("foo", "bar");
+            assert.notStrictEqual(instances, false);
+            assert.strictEqual(instances[0].foo, "bar");
+            assert.strictEqual(instances[0].intercepted, undefined);
+            assert.strictEqual(instances[1].foo, "bar");
+            assert.strictEqual(instances[1].intercepted, true);
+        });
+    });
+    describe('Set with a duplicate name', function () {
+        it('should keep the last value', function () {
+            module.ObjectTemplate_SetTwice("foo", 1, 2, false).forEach(function (obj) {
+                assert.strictEqual(obj.foo, 2);
+                assert.strictEqual(Object.getOwnPropertyDescriptor(obj, "foo").writable, true);
+            });
+        });
+        it('should not overwrite a read-only value', function () {
+            module.ObjectTemplate_SetTwice("foo", 1, 2, true).forEach(function (obj) {
+                assert.strictEqual(obj.foo, 1);
+                assert.strictEqual(Object.getOwnPropertyDescriptor(obj, "foo").writable, false);
+            });
+        });
+        it('should assign the value through an accessor', function () {
+            module.ObjectTemplate_SetAccessorAndValue("myAccess", 42).forEach(function (obj) {
+                assert.strictEqual(obj.myAccess, "accessor getter called: myAccess");
+                assert.strictEqual(obj.mySetValue, 42);
+            });
+        });
+    });
 });
-
@@ -43,6 +43,31 @@
 
 #include <string.h>
 
+#ifdef SUITE_INTERNALS
+
+class StaticOneByteResource : public String::ExternalOneByteStringResource {
+public:
+    StaticOneByteResource(const char* data) : data_(data), length_(strlen(data)) {
+    }
+
+    const char* data() const override {
+        return data_;
+    }
+
+    size_t length() const override {
+        return length_;
+    }
+private:
+    const char* data_;
+    size_t length_;
+};
+
+Local<String> NewStaticExternal(Isolate* isolate, const char* data) {
+    return String::NewExternalOneByte(isolate, new StaticOneByteResource(data)).ToLocalChecked();
+}
+
+#endif
+
 // String::Length
 
 EXPORT_TO_JS(Length) {
@@ -146,4 +171,26 @@ EXPORT_TO_JS(CheckWriteUtf8) {
     args.GetReturnValue().Set(true);
 }
 
+// String::NewExternalOneByte
+
+EXPORT_TO_JS(CheckExternal) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<String> key = NewStaticExternal(isolate, "key");
+    Local<String> value = String::Concat(isolate, NewStaticExternal(isolate, "val"), NewStaticExternal(isolate, "ue"));
+
+    String::Utf8Value utf8(isolate, value);
+    if (utf8.length() != 5 || strcmp(*utf8, "value") != 0) {
+        Fail("Utf8Value of concatenated external strings not as expected");
+    }
+    String::Value utf16(isolate, key);
+    if (utf16.length() != 3 || (*utf16)[0] != 'k' || (*utf16)[2] != 'y') {
+        Fail("Value of external string not as expected");
+    }
+
+    Local<Object> obj = Object::New(isolate);
+    obj->Set(context, key, value).Check();
+    args.GetReturnValue().Set(JSON::Stringify(context, obj, NewStaticExternal(isolate, "  ")).ToLocalChecked());
+}
+
 #undef SUITE
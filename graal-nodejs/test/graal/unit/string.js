@@ -144,4 +144,9 @@ describe('String', function () {
             assert.strictEqual(result, true);
         });
     });
+    describe('NewExternalOneByte', function () {
+        it('should concatenate, stringify and convert external strings', function () {
+            assert.strictEqual(module.String_CheckExternal(), '{\n  "key": "value"\n}');
+        });
+    });
 });